@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.4"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "michal.malek"
@@ -9,7 +10,7 @@ version = "0.0.1-SNAPSHOT"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(21)
     }
 }
 
@@ -23,19 +24,70 @@ repositories {
     mavenCentral()
 }
 
+// Load test against application on embedded MongoDB, kept apart from unit tests
+val loadTest by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+val loadTestImplementation by configurations.getting {
+    extendsFrom(configurations.implementation.get(), configurations.testImplementation.get())
+}
+
+val loadTestRuntimeOnly by configurations.getting {
+    extendsFrom(configurations.runtimeOnly.get(), configurations.testRuntimeOnly.get())
+}
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-mongodb")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-data-mongodb-reactive")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
     implementation("com.opencsv:opencsv:5.7.1")
     implementation("org.mapstruct:mapstruct:1.6.3")
     implementation ("org.springframework.boot:spring-boot-starter-validation")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.6.3")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.projectreactor:reactor-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    loadTestImplementation("de.flapdoodle.embed:de.flapdoodle.embed.mongo.spring3x:4.18.0")
+    loadTestImplementation("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Run with ./gradlew loadTest, -Ploadtest.* and -Pspring.* properties are passed to test JVM
+// (e.g. -Ploadtest.mix=COUNTRY_HEAVY -Pspring.threads.virtual.enabled=true)
+tasks.register<Test>("loadTest") {
+    description = "Measures throughput and latency of swift API under load."
+    group = "verification"
+    testClassesDirs = loadTest.output.classesDirs
+    classpath = loadTest.runtimeClasspath
+    maxHeapSize = "4g"
+    systemProperty("loadtest.version", project.version.toString())
+    systemProperty("loadtest.reports-dir", layout.buildDirectory.dir("reports/load-test").get().asFile.path)
+    project.properties
+        .filterKeys { it.startsWith("loadtest.") || it.startsWith("spring.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
+}
+
+// Benchmarks from src/jmh, run with ./gradlew jmh (single class: ./gradlew jmh -PjmhIncludes=CsvReadBenchmark)
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    jvmArgsAppend = listOf("-Xms2g", "-Xmx6g")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results-${project.version}.json")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
@@ -0,0 +1,73 @@
+package michal.malek.remitlytask.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import michal.malek.remitlytask.model.swift_data.SwiftDataCsv;
+import michal.malek.remitlytask.service.CsvService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading synthetic CSVs of 10k to 5M rows.
+ * readCsv holds whole file in memory, streamCsv only one chunk, both are measured on the same file.
+ * streamSwiftData is the reflection-free path, it produces documents instead of beans,
+ * parallelStreamSwiftData splits file into ranges parsed by all available processors, as import does.
+ * Every invocation reads whole file, so single shot time is reported.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CsvReadBenchmark {
+    private static final int CHUNK_SIZE = 1000;
+    private static final long RANGE_SIZE = 8 * 1024 * 1024;
+    private static final long PARSE_BUFFER_SIZE = 32 * 1024 * 1024;
+
+    @Param({"10000", "100000", "1000000", "5000000"})
+    private int rowCount;
+
+    private final CsvService csvService = new CsvService(new SimpleMeterRegistry());
+    private Path csvPath;
+    private Resource resource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvPath = Files.createTempFile("swift-benchmark-" + rowCount + "-", ".csv");
+        SyntheticSwiftData.writeCsv(csvPath, rowCount);
+        resource = new FileSystemResource(csvPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvPath);
+    }
+
+    @Benchmark
+    public List<SwiftDataCsv> readCsv() {
+        return csvService.readCsv(SwiftDataCsv.class, resource);
+    }
+
+    @Benchmark
+    public long streamCsv(Blackhole blackhole) {
+        return csvService.streamCsv(SwiftDataCsv.class, resource, CHUNK_SIZE, blackhole::consume);
+    }
+
+    @Benchmark
+    public long streamSwiftData(Blackhole blackhole) {
+        return csvService.streamSwiftData(resource, CHUNK_SIZE, blackhole::consume);
+    }
+
+    @Benchmark
+    public long parallelStreamSwiftData(Blackhole blackhole) {
+        return csvService.parallelStreamSwiftData(resource, CHUNK_SIZE, Runtime.getRuntime().availableProcessors(),
+                RANGE_SIZE, PARSE_BUFFER_SIZE, blackhole::consume);
+    }
+}
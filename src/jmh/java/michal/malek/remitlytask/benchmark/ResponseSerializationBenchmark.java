@@ -0,0 +1,72 @@
+package michal.malek.remitlytask.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import michal.malek.remitlytask.cache.CachedJson;
+import michal.malek.remitlytask.cache.JsonResponseCache;
+import michal.malek.remitlytask.mapper.SwiftDataMapper;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataResponse;
+import michal.malek.remitlytask.model.swift_data.response.HeadquarterAndBranchesResponse;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serialization of responses, compared with serving bytes cached by JsonResponseCache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+    private static final String COUNTRY_ISO2 = "PL";
+
+    @Param({"10", "1000", "10000"})
+    private int countrySize;
+
+    private ObjectMapper objectMapper;
+    private JsonResponseCache jsonResponseCache;
+    private HeadquarterAndBranchesResponse headquarterResponse;
+    private CountrySwiftDataResponse countryResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        jsonResponseCache = new JsonResponseCache(objectMapper);
+        SwiftDataMapper swiftDataMapper = Mappers.getMapper(SwiftDataMapper.class);
+        List<SwiftDataDoc> docs = SyntheticSwiftData.docs(countrySize);
+
+        headquarterResponse = swiftDataMapper.swiftDocToHeadquarter(docs.get(0));
+        headquarterResponse.setBranches(swiftDataMapper.swiftDocListToResponseList(
+                docs.subList(1, Math.min(docs.size(), 5))));
+        countryResponse = CountrySwiftDataResponse.builder()
+                .countryISO2(COUNTRY_ISO2)
+                .countryName("POLAND")
+                .swiftCodes(swiftDataMapper.swiftDocListToResponseList(docs))
+                .build();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public byte[] serializeHeadquarter() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(headquarterResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeCountry() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(countryResponse);
+    }
+
+    @Benchmark
+    public CachedJson serializeCountryWithETag() {
+        return jsonResponseCache.serialize(countryResponse);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CachedJson cachedCountry() {
+        return jsonResponseCache.getCountry(COUNTRY_ISO2, () -> countryResponse);
+    }
+}
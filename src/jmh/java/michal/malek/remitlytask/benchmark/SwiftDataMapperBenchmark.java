@@ -0,0 +1,53 @@
+package michal.malek.remitlytask.benchmark;
+
+import michal.malek.remitlytask.mapper.SwiftDataMapper;
+import michal.malek.remitlytask.model.swift_data.SwiftDataCsv;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.model.swift_data.response.BranchResponse;
+import michal.malek.remitlytask.model.swift_data.response.HeadquarterAndBranchesResponse;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks MapStruct mappings used by import and read paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SwiftDataMapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int recordCount;
+
+    private SwiftDataMapper swiftDataMapper;
+    private List<SwiftDataCsv> csvRecords;
+    private List<SwiftDataDoc> docs;
+    private SwiftDataDoc headquartersDoc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        swiftDataMapper = Mappers.getMapper(SwiftDataMapper.class);
+        csvRecords = SyntheticSwiftData.csvRecords(recordCount);
+        docs = SyntheticSwiftData.docs(recordCount);
+        headquartersDoc = docs.get(0);
+    }
+
+    @Benchmark
+    public List<SwiftDataDoc> csvListToDocsList() {
+        return swiftDataMapper.swiftCsvListToDocsList(csvRecords);
+    }
+
+    @Benchmark
+    public List<BranchResponse> docListToResponseList() {
+        return swiftDataMapper.swiftDocListToResponseList(docs);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public HeadquarterAndBranchesResponse docToHeadquarter() {
+        return swiftDataMapper.swiftDocToHeadquarter(headquartersDoc);
+    }
+}
@@ -0,0 +1,56 @@
+package michal.malek.remitlytask.benchmark;
+
+import michal.malek.remitlytask.directory.Institution;
+import michal.malek.remitlytask.directory.SwiftDirectory;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups of packed SwiftDirectory with a plain HashMap of records.
+ * Heap used by both can be compared by running with -prof gc or a heap dump after setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SwiftDirectoryBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int recordCount;
+
+    private SwiftDirectory swiftDirectory;
+    private Map<String, SwiftDataDoc> hashMap;
+    private String[] swiftCodes;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<SwiftDataDoc> docs = SyntheticSwiftData.docs(recordCount);
+        swiftDirectory = new SwiftDirectory();
+        swiftDirectory.load(docs);
+        hashMap = new HashMap<>();
+        docs.forEach(doc -> hashMap.put(doc.getSwiftCode(), doc));
+        swiftCodes = docs.stream().map(SwiftDataDoc::getSwiftCode).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public Optional<SwiftDataDoc> directoryFind() {
+        return swiftDirectory.find(swiftCodes[random.nextInt(swiftCodes.length)]);
+    }
+
+    @Benchmark
+    public SwiftDataDoc hashMapGet() {
+        return hashMap.get(swiftCodes[random.nextInt(swiftCodes.length)]);
+    }
+
+    @Benchmark
+    public Institution directoryFindInstitution() {
+        return swiftDirectory.findInstitution(Institution.prefixOf(swiftCodes[random.nextInt(swiftCodes.length)]));
+    }
+}
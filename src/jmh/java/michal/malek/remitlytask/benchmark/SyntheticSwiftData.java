@@ -0,0 +1,128 @@
+package michal.malek.remitlytask.benchmark;
+
+import michal.malek.remitlytask.model.swift_data.SwiftDataCsv;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates deterministic swift data shaped like Interns_2025_SWIFT_CODES.csv.
+ * Every institution has headquarters and a few branches, codes are unique.
+ */
+final class SyntheticSwiftData {
+    static final String CSV_HEADER = "COUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE";
+
+    private static final String[][] COUNTRIES = {
+            {"PL", "POLAND", "Europe/Warsaw"}, {"DE", "GERMANY", "Europe/Berlin"},
+            {"FR", "FRANCE", "Europe/Paris"}, {"US", "UNITED STATES", "America/New_York"},
+            {"BG", "BULGARIA", "Europe/Sofia"}, {"AL", "ALBANIA", "Europe/Tirane"}};
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int BRANCHES_PER_INSTITUTION = 4;
+    private static final int BANK_CODES = 26 * 26 * 26 * 26;
+
+    private SyntheticSwiftData() {
+    }
+
+    /**
+     * Writes CSV with header and provided number of rows.
+     * @param path target file
+     * @param rowCount number of data rows
+     * @throws IOException when file can't be written
+     */
+    static void writeCsv(Path path, int rowCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (int row = 0; row < rowCount; row++) {
+                String[] country = countryOf(row);
+                writer.write(country[0] + "," + swiftCodeOf(row) + ",BIC11," + bankNameOf(row)
+                        + ",\"" + addressOf(row) + "\",WARSAW," + country[1] + "," + country[2]);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @param count number of records
+     * @return CSV records, as parsed from generated file
+     */
+    static List<SwiftDataCsv> csvRecords(int count) {
+        List<SwiftDataCsv> records = new ArrayList<>(count);
+        for (int row = 0; row < count; row++) {
+            String[] country = countryOf(row);
+            records.add(new SwiftDataCsv(country[0], swiftCodeOf(row), "BIC11", bankNameOf(row),
+                    addressOf(row), "WARSAW", country[1], country[2]));
+        }
+        return records;
+    }
+
+    /**
+     * @param count number of records
+     * @return documents, as stored in DB
+     */
+    static List<SwiftDataDoc> docs(int count) {
+        List<SwiftDataDoc> docs = new ArrayList<>(count);
+        for (int row = 0; row < count; row++) {
+            String[] country = countryOf(row);
+            String swiftCode = swiftCodeOf(row);
+            docs.add(SwiftDataDoc.builder()
+                    .swiftCode(swiftCode)
+                    .bankName(bankNameOf(row))
+                    .address(addressOf(row))
+                    .countryISO2(country[0])
+                    .countryName(country[1])
+                    .isHeadquarter(swiftCode.endsWith("XXX"))
+                    .institutionPrefix(swiftCode.substring(0, 8))
+                    .build());
+        }
+        return docs;
+    }
+
+    /**
+     * First row of every institution is headquarters, following ones are its branches.
+     */
+    static String swiftCodeOf(int row) {
+        int institution = row / (BRANCHES_PER_INSTITUTION + 1);
+        int branch = row % (BRANCHES_PER_INSTITUTION + 1);
+        String prefix = prefixOf(institution);
+        return branch == 0 ? prefix + "XXX" : prefix + String.format("%03d", branch);
+    }
+
+    /**
+     * Bank part encodes institution index modulo 26^4, location part the remaining quotient,
+     * so prefixes are unique up to 26^4 * 36^2 institutions.
+     */
+    private static String prefixOf(int institution) {
+        StringBuilder prefix = new StringBuilder(8);
+        int bank = institution % BANK_CODES;
+        for (int i = 0; i < 4; i++) {
+            prefix.append((char) ('A' + bank % 26));
+            bank /= 26;
+        }
+        prefix.append(COUNTRIES[institution % COUNTRIES.length][0]);
+        int location = institution / BANK_CODES;
+        for (int i = 0; i < 2; i++) {
+            prefix.append(ALPHANUMERIC.charAt(location % ALPHANUMERIC.length()));
+            location /= ALPHANUMERIC.length();
+        }
+        return prefix.toString();
+    }
+
+    private static String[] countryOf(int row) {
+        return COUNTRIES[(row / (BRANCHES_PER_INSTITUTION + 1)) % COUNTRIES.length];
+    }
+
+    private static String bankNameOf(int row) {
+        return "SYNTHETIC BANK " + row / (BRANCHES_PER_INSTITUTION + 1);
+    }
+
+    private static String addressOf(int row) {
+        return "STREET " + row + " WARSAW, MAZOWIECKIE, 00-" + String.format("%03d", row % 1000);
+    }
+}
@@ -0,0 +1,64 @@
+package michal.malek.remitlytask.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+import michal.malek.remitlytask.model.swift_data.request.SwiftDataRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks validation regexes alone and bean validation of a whole request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+    private static final Pattern SWIFT_PATTERN = Pattern.compile(ValidationConstants.SWIFT_REGEX);
+    private static final Pattern ISO2_PATTERN = Pattern.compile(ValidationConstants.ISO2_REGEX);
+
+    @Param({"AAISALTRXXX", "ABIEBGS1", "abiebgs1xxx"})
+    private String swiftCode;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private SwiftDataRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        request = new SwiftDataRequest("HYRJA 3 RR. DRITAN HOXHA ND. 11 TIRANA", "UNITED BANK OF ALBANIA SH.A",
+                "AL", "ALBANIA", swiftCode.endsWith("XXX"), swiftCode);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean swiftRegexPrecompiled() {
+        return SWIFT_PATTERN.matcher(swiftCode).matches();
+    }
+
+    @Benchmark
+    public boolean swiftRegexStringMatches() {
+        return swiftCode.matches(ValidationConstants.SWIFT_REGEX);
+    }
+
+    @Benchmark
+    public boolean iso2RegexPrecompiled() {
+        return ISO2_PATTERN.matcher(request.getCountryISO2()).matches();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SwiftDataRequest>> validateRequest() {
+        return validator.validate(request);
+    }
+}
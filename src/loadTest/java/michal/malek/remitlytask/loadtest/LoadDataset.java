@@ -0,0 +1,118 @@
+package michal.malek.remitlytask.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generated dataset shaped like Interns_2025_SWIFT_CODES.csv, only many times larger.
+ * Every institution has headquarters and four branches. Codes are derived from row number,
+ * so workers can draw existing codes without keeping them in memory.
+ */
+final class LoadDataset {
+    private static final String CSV_HEADER =
+            "COUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE";
+    private static final String[][] COUNTRIES = {
+            {"PL", "POLAND", "Europe/Warsaw"}, {"DE", "GERMANY", "Europe/Berlin"},
+            {"FR", "FRANCE", "Europe/Paris"}, {"US", "UNITED STATES", "America/New_York"},
+            {"BG", "BULGARIA", "Europe/Sofia"}, {"AL", "ALBANIA", "Europe/Tirane"},
+            {"CL", "CHILE", "America/Santiago"}, {"MT", "MALTA", "Europe/Malta"},
+            {"LV", "LATVIA", "Europe/Riga"}, {"UY", "URUGUAY", "America/Montevideo"}};
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int CODES_PER_INSTITUTION = 5;
+    private static final int BANK_CODES = 26 * 26 * 26 * 26;
+
+    /**
+     * Location code never produced for generated rows, used by codes added during run.
+     */
+    private static final String WRITE_LOCATION = "Z9";
+
+    private final int rows;
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    LoadDataset(int rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Writes dataset as CSV readable by application import.
+     * @param path target file
+     * @throws IOException when file can't be written
+     */
+    void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (int row = 0; row < rows; row++) {
+                String[] country = countryOfInstitution(row / CODES_PER_INSTITUTION);
+                writer.write(country[0] + "," + swiftCodeOf(row) + ",BIC11,LOAD TEST BANK "
+                        + row / CODES_PER_INSTITUTION + ",\"UL. TESTOWA " + row + ", 00-001 WARSZAWA\",WARSZAWA,"
+                        + country[1] + "," + country[2]);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @param random random of calling worker
+     * @return swift code of a generated row
+     */
+    String randomSwiftCode(SplittableRandom random) {
+        return swiftCodeOf(random.nextInt(rows));
+    }
+
+    /**
+     * @param random random of calling worker
+     * @return ISO2 code of a country present in dataset
+     */
+    String randomCountryISO2(SplittableRandom random) {
+        return COUNTRIES[random.nextInt(Math.min(COUNTRIES.length, Math.max(1, rows / CODES_PER_INSTITUTION)))][0];
+    }
+
+    /**
+     * @return headquarters swift code not present in dataset, unique within run
+     */
+    String nextWriteSwiftCode() {
+        long sequence = writeSequence.getAndIncrement();
+        return bankCodeOf((int) (sequence % BANK_CODES)) + "PL" + WRITE_LOCATION + "XXX";
+    }
+
+    static String countryNameOf(String countryISO2) {
+        for (String[] country : COUNTRIES) {
+            if (country[0].equals(countryISO2)) {
+                return country[1];
+            }
+        }
+        throw new IllegalArgumentException(countryISO2);
+    }
+
+    private static String swiftCodeOf(int row) {
+        int institution = row / CODES_PER_INSTITUTION;
+        int branch = row % CODES_PER_INSTITUTION;
+        String prefix = bankCodeOf(institution % BANK_CODES) + countryOfInstitution(institution)[0]
+                + locationOf(institution / BANK_CODES);
+        return prefix + (branch == 0 ? "XXX" : "B" + (char) ('A' + branch) + "C");
+    }
+
+    private static String[] countryOfInstitution(int institution) {
+        return COUNTRIES[institution % COUNTRIES.length];
+    }
+
+    private static String bankCodeOf(int value) {
+        StringBuilder bank = new StringBuilder(4);
+        for (int i = 0; i < 4; i++) {
+            bank.append((char) ('A' + value % 26));
+            value /= 26;
+        }
+        return bank.toString();
+    }
+
+    private static String locationOf(int value) {
+        return "" + ALPHANUMERIC.charAt(value % ALPHANUMERIC.length())
+                + ALPHANUMERIC.charAt(value / ALPHANUMERIC.length() % ALPHANUMERIC.length());
+    }
+}
@@ -0,0 +1,50 @@
+package michal.malek.remitlytask.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Weighted share of operations sent by every worker.
+ * Deletes only remove codes added earlier by the same worker, so dataset size stays stable.
+ */
+enum LoadMix {
+    READ_HEAVY(Map.of(
+            LoadOperation.GET_SWIFT_CODE, 90,
+            LoadOperation.GET_COUNTRY, 5,
+            LoadOperation.ADD_SWIFT_CODE, 3,
+            LoadOperation.DELETE_SWIFT_CODE, 2)),
+    COUNTRY_HEAVY(Map.of(
+            LoadOperation.GET_SWIFT_CODE, 40,
+            LoadOperation.GET_COUNTRY, 55,
+            LoadOperation.ADD_SWIFT_CODE, 3,
+            LoadOperation.DELETE_SWIFT_CODE, 2)),
+    BULK_WRITE(Map.of(
+            LoadOperation.GET_SWIFT_CODE, 70,
+            LoadOperation.GET_COUNTRY, 10,
+            LoadOperation.BULK_ADD, 10,
+            LoadOperation.BULK_DELETE, 10));
+
+    private final Map<LoadOperation, Integer> weights;
+    private final LoadOperation[] table;
+
+    LoadMix(Map<LoadOperation, Integer> weights) {
+        this.weights = new EnumMap<>(weights);
+        this.table = this.weights.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(LoadOperation[]::new);
+    }
+
+    /**
+     * @param random random of calling worker
+     * @return operation drawn according to weights
+     */
+    LoadOperation next(SplittableRandom random) {
+        return table[random.nextInt(table.length)];
+    }
+
+    Map<LoadOperation, Integer> weights() {
+        return weights;
+    }
+}
@@ -0,0 +1,13 @@
+package michal.malek.remitlytask.loadtest;
+
+/**
+ * Requests sent to SwiftController during load test.
+ */
+enum LoadOperation {
+    GET_SWIFT_CODE,
+    GET_COUNTRY,
+    ADD_SWIFT_CODE,
+    DELETE_SWIFT_CODE,
+    BULK_ADD,
+    BULK_DELETE
+}
@@ -0,0 +1,61 @@
+package michal.malek.remitlytask.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records latency of every operation into HdrHistogram, in microseconds.
+ * Recording is disabled during warmup.
+ */
+final class LoadRecorder {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, AtomicLong> errors = new EnumMap<>(LoadOperation.class);
+    private volatile boolean recording;
+
+    LoadRecorder() {
+        for (LoadOperation operation : LoadOperation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    /**
+     * @param operation sent operation
+     * @param startNanos System.nanoTime() before request was sent
+     * @param successful tells if response had expected status
+     */
+    void record(LoadOperation operation, long startNanos, boolean successful) {
+        if (!recording) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!successful) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    Histogram histogram(LoadOperation operation) {
+        return histograms.get(operation);
+    }
+
+    long errors(LoadOperation operation) {
+        return errors.get(operation).get();
+    }
+}
@@ -0,0 +1,89 @@
+package michal.malek.remitlytask.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes result of a run to build/reports/load-test/{version}/{mix}-{threads}.
+ * summary.csv has one row per operation and the same columns in every version, so runs can be diffed,
+ * {operation}.hgrm files hold full percentile distribution in milliseconds, readable by HdrHistogram plotter.
+ */
+final class LoadReport {
+    private static final String CSV_HEADER =
+            "operation,weight,requests,errors,throughput_per_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadReport() {
+    }
+
+    /**
+     * @param reportsDirectory root of load test reports
+     * @param settings settings of run
+     * @param recorder recorded latencies
+     * @return directory holding written report
+     * @throws IOException when report can't be written
+     */
+    static Path write(Path reportsDirectory, LoadTestSettings settings, LoadRecorder recorder) throws IOException {
+        Path runDirectory = reportsDirectory.resolve(settings.version()).resolve(settings.runName());
+        Files.createDirectories(runDirectory);
+
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = recorder.histogram(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            lines.add(summaryLine(operation, settings, histogram, recorder.errors(operation)));
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(runDirectory.resolve(operation.name().toLowerCase() + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        Files.write(runDirectory.resolve("summary.csv"), lines, StandardCharsets.UTF_8);
+        Files.writeString(runDirectory.resolve("settings.properties"), settingsOf(settings), StandardCharsets.UTF_8);
+        return runDirectory;
+    }
+
+    private static String summaryLine(LoadOperation operation, LoadTestSettings settings,
+                                      Histogram histogram, long errors) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                operation.name().toLowerCase(),
+                settings.mix().weights().getOrDefault(operation, 0),
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds(settings.duration()),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static String settingsOf(LoadTestSettings settings) {
+        return "rows=" + settings.rows() + System.lineSeparator()
+                + "workers=" + settings.workers() + System.lineSeparator()
+                + "warmup-seconds=" + settings.warmup().toSeconds() + System.lineSeparator()
+                + "duration-seconds=" + settings.duration().toSeconds() + System.lineSeparator()
+                + "mix=" + settings.mix() + System.lineSeparator()
+                + "virtual-threads=" + settings.virtualThreads() + System.lineSeparator();
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
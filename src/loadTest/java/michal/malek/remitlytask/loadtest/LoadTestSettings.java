@@ -0,0 +1,35 @@
+package michal.malek.remitlytask.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Settings of a load test run, read from system properties passed by Gradle loadTest task.
+ * @param rows number of generated records imported before run
+ * @param workers number of concurrent clients
+ * @param warmup time during which requests are sent but not recorded
+ * @param duration measured time
+ * @param mix share of operations
+ * @param virtualThreads tells if application serves requests on virtual threads
+ * @param version application version, used to separate reports
+ */
+record LoadTestSettings(int rows, int workers, Duration warmup, Duration duration, LoadMix mix,
+                        boolean virtualThreads, String version) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.rows", 1_000_000),
+                Integer.getInteger("loadtest.workers", 64),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                LoadMix.valueOf(System.getProperty("loadtest.mix", LoadMix.READ_HEAVY.name())),
+                Boolean.getBoolean("spring.threads.virtual.enabled"),
+                System.getProperty("loadtest.version", "dev"));
+    }
+
+    /**
+     * @return name of directory holding report of this run
+     */
+    String runName() {
+        return mix.name().toLowerCase() + "-" + (virtualThreads ? "virtual" : "platform");
+    }
+}
@@ -0,0 +1,95 @@
+package michal.malek.remitlytask.loadtest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Closed-loop client sending operations drawn from mix until deadline.
+ * Deletes only codes added earlier by this worker, when there is none an add is sent instead.
+ */
+final class LoadWorker implements Runnable {
+    private static final int BULK_SIZE = 100;
+
+    private final SwiftLoadClient client;
+    private final LoadDataset dataset;
+    private final LoadMix mix;
+    private final LoadRecorder recorder;
+    private final long deadlineNanos;
+    private final SplittableRandom random;
+    private final Deque<String> addedSwiftCodes = new ArrayDeque<>();
+
+    LoadWorker(SwiftLoadClient client, LoadDataset dataset, LoadMix mix, LoadRecorder recorder,
+               long deadlineNanos, long seed) {
+        this.client = client;
+        this.dataset = dataset;
+        this.mix = mix;
+        this.recorder = recorder;
+        this.deadlineNanos = deadlineNanos;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            LoadOperation operation = resolve(mix.next(random));
+            long startNanos = System.nanoTime();
+            boolean successful;
+            try {
+                successful = send(operation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                successful = false;
+            }
+            recorder.record(operation, startNanos, successful);
+        }
+    }
+
+    private LoadOperation resolve(LoadOperation operation) {
+        if (operation == LoadOperation.DELETE_SWIFT_CODE && addedSwiftCodes.isEmpty()) {
+            return LoadOperation.ADD_SWIFT_CODE;
+        }
+        if (operation == LoadOperation.BULK_DELETE && addedSwiftCodes.size() < BULK_SIZE) {
+            return LoadOperation.BULK_ADD;
+        }
+        return operation;
+    }
+
+    private boolean send(LoadOperation operation) throws Exception {
+        return switch (operation) {
+            case GET_SWIFT_CODE -> client.getSwiftCode(dataset.randomSwiftCode(random)) == 200;
+            case GET_COUNTRY -> client.getCountry(dataset.randomCountryISO2(random)) == 200;
+            case ADD_SWIFT_CODE -> {
+                String swiftCode = dataset.nextWriteSwiftCode();
+                boolean added = client.addSwiftCode(swiftCode) == 200;
+                if (added) {
+                    addedSwiftCodes.push(swiftCode);
+                }
+                yield added;
+            }
+            case DELETE_SWIFT_CODE -> client.deleteSwiftCode(addedSwiftCodes.pop()) == 200;
+            case BULK_ADD -> {
+                List<String> swiftCodes = new ArrayList<>(BULK_SIZE);
+                for (int i = 0; i < BULK_SIZE; i++) {
+                    swiftCodes.add(dataset.nextWriteSwiftCode());
+                }
+                boolean added = client.addSwiftCodes(swiftCodes) == 200;
+                if (added) {
+                    swiftCodes.forEach(addedSwiftCodes::push);
+                }
+                yield added;
+            }
+            case BULK_DELETE -> {
+                List<String> swiftCodes = new ArrayList<>(BULK_SIZE);
+                for (int i = 0; i < BULK_SIZE; i++) {
+                    swiftCodes.add(addedSwiftCodes.pop());
+                }
+                yield client.deleteSwiftCodes(swiftCodes) == 200;
+            }
+        };
+    }
+}
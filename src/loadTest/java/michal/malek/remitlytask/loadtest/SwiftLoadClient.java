@@ -0,0 +1,83 @@
+package michal.malek.remitlytask.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import michal.malek.remitlytask.model.swift_data.request.SwiftBulkAddRequest;
+import michal.malek.remitlytask.model.swift_data.request.SwiftBulkDeleteRequest;
+import michal.malek.remitlytask.model.swift_data.request.SwiftDataRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sends requests to SwiftController endpoints over HTTP.
+ * Responses are fully read, so measured latency includes body transfer.
+ */
+final class SwiftLoadClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String JSON = "application/json";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    SwiftLoadClient(int port) {
+        this.baseUrl = "http://localhost:" + port + "/v1/swift-codes";
+    }
+
+    int getSwiftCode(String swiftCode) throws IOException, InterruptedException {
+        return send(request("/" + swiftCode).GET());
+    }
+
+    int getCountry(String countryISO2) throws IOException, InterruptedException {
+        return send(request("/country/" + countryISO2).GET());
+    }
+
+    int addSwiftCode(String swiftCode) throws IOException, InterruptedException {
+        return send(request("").POST(body(toRequest(swiftCode))));
+    }
+
+    int deleteSwiftCode(String swiftCode) throws IOException, InterruptedException {
+        return send(request("/" + swiftCode).DELETE());
+    }
+
+    int addSwiftCodes(List<String> swiftCodes) throws IOException, InterruptedException {
+        List<SwiftDataRequest> records = swiftCodes.stream()
+                .map(SwiftLoadClient::toRequest)
+                .toList();
+        return send(request("/bulk").POST(body(new SwiftBulkAddRequest(records))));
+    }
+
+    int deleteSwiftCodes(List<String> swiftCodes) throws IOException, InterruptedException {
+        return send(request("/bulk").method("DELETE", body(new SwiftBulkDeleteRequest(swiftCodes))));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", JSON)
+                .header("Accept", JSON);
+    }
+
+    private HttpRequest.BodyPublisher body(Object requestBody) throws JsonProcessingException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestBody));
+    }
+
+    private int send(HttpRequest.Builder requestBuilder) throws IOException, InterruptedException {
+        return httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static SwiftDataRequest toRequest(String swiftCode) {
+        String countryISO2 = swiftCode.substring(4, 6);
+        return new SwiftDataRequest("UL. TESTOWA 1, 00-001 WARSZAWA", "LOAD TEST WRITE BANK",
+                countryISO2, LoadDataset.countryNameOf(countryISO2), swiftCode.endsWith("XXX"), swiftCode);
+    }
+}
@@ -0,0 +1,116 @@
+package michal.malek.remitlytask.loadtest;
+
+import michal.malek.remitlytask.model.import_report.ImportState;
+import michal.malek.remitlytask.service.CsvSourceResolver;
+import michal.malek.remitlytask.service.SwiftDataImportService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs configured operation mix against all SwiftController endpoints of application started on embedded MongoDB.
+ * Dataset is generated as CSV and loaded by regular import, measurement starts once import completed.
+ * Run with ./gradlew loadTest, see README for available properties.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(SwiftLoadTest.GeneratedDatasetConfig.class)
+class SwiftLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(SwiftLoadTest.class);
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+    private static final LoadDataset DATASET = new LoadDataset(SETTINGS.rows());
+    private static final Duration IMPORT_TIMEOUT = Duration.ofMinutes(30);
+    private static final Path REPORTS_DIRECTORY = Path.of(System.getProperty("loadtest.reports-dir", "build/reports/load-test"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SwiftDataImportService swiftDataImportService;
+
+    /**
+     * Replaces bundled CSV with generated dataset file.
+     */
+    @TestConfiguration
+    static class GeneratedDatasetConfig {
+        @Bean
+        @Primary
+        CsvSourceResolver generatedDataset() throws IOException {
+            Path csvPath = Files.createTempFile("swift-load-test-", ".csv");
+            csvPath.toFile().deleteOnExit();
+            DATASET.writeCsv(csvPath);
+            return new CsvSourceResolver(csvPath.toUri().toString());
+        }
+    }
+
+    /**
+     * Test load mix, when generated dataset was imported, sends requests of all workers
+     * for warmup and measured duration, writes report and expects no failed requests.
+     */
+    @Test
+    void testSwiftController_whenLoadMixApplied_writesLatencyReport() throws Exception {
+        awaitImport();
+        LoadRecorder recorder = new LoadRecorder();
+        SwiftLoadClient client = new SwiftLoadClient(port);
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + SETTINGS.warmup().plus(SETTINGS.duration()).toNanos();
+
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(SETTINGS.workers())) {
+            for (int worker = 0; worker < SETTINGS.workers(); worker++) {
+                workers.add(executor.submit(new LoadWorker(client, DATASET, SETTINGS.mix(), recorder,
+                        deadlineNanos, worker)));
+            }
+            Thread.sleep(SETTINGS.warmup());
+            recorder.startRecording();
+            Thread.sleep(SETTINGS.duration());
+            recorder.stopRecording();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        Path reportDirectory = LoadReport.write(REPORTS_DIRECTORY, SETTINGS, recorder);
+        log.info("Load test report of {} written to {}", SETTINGS.runName(), reportDirectory.toAbsolutePath());
+        long requests = 0;
+        for (LoadOperation operation : LoadOperation.values()) {
+            requests += recorder.histogram(operation).getTotalCount();
+            assertEquals(0, recorder.errors(operation), "Failed requests of " + operation);
+        }
+        assertTrue(requests > 0);
+    }
+
+    private void awaitImport() throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + IMPORT_TIMEOUT.toNanos();
+        while (swiftDataImportService.getProgress().getState() != ImportState.COMPLETED) {
+            if (swiftDataImportService.getProgress().getState() == ImportState.FAILED) {
+                throw new IllegalStateException(swiftDataImportService.getProgress().getFailureMessage());
+            }
+            if (System.nanoTime() > deadlineNanos) {
+                throw new IllegalStateException("Import did not complete within " + IMPORT_TIMEOUT);
+            }
+            Thread.sleep(Duration.ofSeconds(1));
+        }
+    }
+}
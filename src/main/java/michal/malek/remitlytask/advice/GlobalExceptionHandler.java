@@ -12,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.stream.Collectors;
 
@@ -71,4 +72,16 @@ public class GlobalExceptionHandler {
                 new StandardizedExceptionResponse(message, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(response.getStatus()).body(response);
     }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<?> handleWebExchangeBindException(WebExchangeBindException ex) {
+        String message = ex.getBindingResult().getFieldErrors()
+                .stream()
+                .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.joining(", "));
+
+        StandardizedExceptionResponse response =
+                new StandardizedExceptionResponse(message, HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
 }
@@ -0,0 +1,27 @@
+package michal.malek.remitlytask.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counts of a cache, safe to update from many threads.
+ */
+public class CacheStatistics {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,14 @@
+package michal.malek.remitlytask.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Already encoded UTF-8 JSON response with its entity tag.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedJson {
+    private final byte[] body;
+    private final String eTag;
+}
@@ -0,0 +1,83 @@
+package michal.malek.remitlytask.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import michal.malek.remitlytask.directory.SwiftDirectory;
+import michal.malek.remitlytask.mapper.SwiftDataMapper;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds precomputed CountrySwiftDataResponse per country ISO2 code.
+ * Snapshot is built once from SwiftDirectory and reused until a write touches its country.
+ * Invalidation of a key waits for its pending build, so snapshot built from stale data never survives.
+ */
+@Component
+@RequiredArgsConstructor
+public class CountrySnapshotCache {
+    private final SwiftDirectory swiftDirectory;
+    private final SwiftDataMapper swiftDataMapper;
+
+    private final Map<String, CountrySwiftDataResponse> snapshots = new ConcurrentHashMap<>();
+    @Getter
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /**
+     * Provides snapshot of a country, building it on first request.
+     * @param countryISO2 2-letter country code
+     * @return snapshot, empty when directory holds no record of the country
+     */
+    public Optional<CountrySwiftDataResponse> get(String countryISO2) {
+        CountrySwiftDataResponse snapshot = snapshots.get(countryISO2);
+        if (snapshot != null) {
+            statistics.recordHit();
+            return Optional.of(snapshot);
+        }
+        statistics.recordMiss();
+        return Optional.ofNullable(snapshots.computeIfAbsent(countryISO2, this::build));
+    }
+
+    /**
+     * Drops snapshot of a country, should be called after directory was changed.
+     * @param countryISO2 2-letter country code, null when unknown, then all snapshots are dropped
+     */
+    public void invalidate(String countryISO2) {
+        if (countryISO2 != null) {
+            snapshots.remove(countryISO2);
+        } else {
+            snapshots.clear();
+        }
+    }
+
+    /**
+     * Drops all snapshots, used when directory is reloaded.
+     */
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+
+    /**
+     * @return number of cached snapshots
+     */
+    public int size() {
+        return snapshots.size();
+    }
+
+    private CountrySwiftDataResponse build(String countryISO2) {
+        List<SwiftDataDoc> countryDocs = swiftDirectory.findByCountry(countryISO2);
+        if (countryDocs.isEmpty()) {
+            return null;
+        }
+        return CountrySwiftDataResponse.builder()
+                .countryISO2(countryISO2)
+                .countryName(countryDocs.get(0).getCountryName())
+                .swiftCodes(List.copyOf(swiftDataMapper.swiftDocListToResponseList(countryDocs)))
+                .build();
+    }
+}
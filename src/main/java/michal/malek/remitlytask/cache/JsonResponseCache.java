@@ -0,0 +1,134 @@
+package michal.malek.remitlytask.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import michal.malek.remitlytask.directory.Institution;
+import michal.malek.remitlytask.exception.ResponseSerializationException;
+import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds already serialized JSON responses per swift code and per country ISO2 code.
+ * Uses application ObjectMapper, so cached bytes are identical to what MVC would write.
+ * Entries are dropped by write paths of SwiftDataService.
+ * Responses are serialized outside of map locks, response serialized while an invalidation ran is returned but not kept.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonResponseCache {
+    private static final String HEADQUARTER_SUFFIX = "XXX";
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CachedJson> bySwiftCode = new ConcurrentHashMap<>();
+    private final Map<String, CachedJson> byCountry = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    @Getter
+    private final CacheStatistics swiftCodeStatistics = new CacheStatistics();
+    @Getter
+    private final CacheStatistics countryStatistics = new CacheStatistics();
+
+    /**
+     * Provides serialized response of a swift code, serializing it on first request.
+     * Exceptions of supplier are propagated and nothing is cached.
+     * @param swiftCode swift code
+     * @param responseSupplier provides response to serialize
+     * @return cached JSON
+     */
+    public CachedJson getSwiftCode(String swiftCode, Supplier<?> responseSupplier) {
+        return getOrSerialize(bySwiftCode, swiftCodeStatistics, swiftCode, responseSupplier);
+    }
+
+    /**
+     * Provides serialized response of a country, serializing it on first request.
+     * Exceptions of supplier are propagated and nothing is cached.
+     * @param countryISO2 2-letter country code
+     * @param responseSupplier provides response to serialize
+     * @return cached JSON
+     */
+    public CachedJson getCountry(String countryISO2, Supplier<?> responseSupplier) {
+        return getOrSerialize(byCountry, countryStatistics, countryISO2, responseSupplier);
+    }
+
+    /**
+     * Drops every entry which may contain a record: record itself, its headquarters and its country.
+     * @param swiftCode swift code of changed record
+     * @param countryISO2 country of changed record, null when unknown, then all countries are dropped
+     */
+    public void invalidateRecord(String swiftCode, String countryISO2) {
+        invalidations.incrementAndGet();
+        bySwiftCode.remove(swiftCode);
+        bySwiftCode.remove(Institution.prefixOf(swiftCode) + HEADQUARTER_SUFFIX);
+        if (countryISO2 != null) {
+            byCountry.remove(countryISO2);
+        } else {
+            byCountry.clear();
+        }
+    }
+
+    /**
+     * Drops all entries, used when directory is reloaded.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        bySwiftCode.clear();
+        byCountry.clear();
+    }
+
+    /**
+     * @return number of cached swift code responses
+     */
+    public int swiftCodeSize() {
+        return bySwiftCode.size();
+    }
+
+    /**
+     * @return number of cached country responses
+     */
+    public int countrySize() {
+        return byCountry.size();
+    }
+
+    /**
+     * Serializes response without caching it.
+     * @param response response object
+     * @return JSON with entity tag
+     */
+    public CachedJson serialize(Object response) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new CachedJson(body, DigestUtils.md5DigestAsHex(body));
+        } catch (JsonProcessingException e) {
+            String message = String.format(ExceptionMessage.RESPONSE_SERIALIZATION_FAILURE, response.getClass().getName());
+            throw new ResponseSerializationException(message, e);
+        }
+    }
+
+    private CachedJson getOrSerialize(Map<String, CachedJson> entries, CacheStatistics statistics,
+                                      String key, Supplier<?> responseSupplier) {
+        CachedJson cached = entries.get(key);
+        if (cached != null) {
+            statistics.recordHit();
+            return cached;
+        }
+        statistics.recordMiss();
+        long invalidationsBefore = invalidations.get();
+        CachedJson serialized = serialize(responseSupplier.get());
+        CachedJson existing = entries.putIfAbsent(key, serialized);
+        if (existing != null) {
+            return existing;
+        }
+        if (invalidations.get() != invalidationsBefore) {
+            entries.remove(key, serialized);
+        }
+        return serialized;
+    }
+}
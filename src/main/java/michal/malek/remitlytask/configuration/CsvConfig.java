@@ -1,40 +1,38 @@
 package michal.malek.remitlytask.configuration;
 
+import michal.malek.remitlytask.service.CsvSourceResolver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
 
 
 /**
- * Configuration class for CSV file resource.
- * Reads the CSV file path from application properties and provides a Resource bean
- * for accessing the CSV file located on the classpath.
+ * Configuration class for CSV file sources.
+ * Reads the CSV locations from application properties and provides a resolver
+ * of CSV files located on the classpath or filesystem, possibly compressed.
  */
 @Configuration
 public class CsvConfig {
 
     /**
-     * Injects the CSV file path from the configuration.
-     * @param swiftCsvPath the CSV file path from properties
+     * Injects the CSV locations from the configuration.
+     * @param swiftCsvPath comma separated CSV locations from properties
      */
     public CsvConfig(@Value("${swift.csv.path}") String swiftCsvPath) {
         this.swiftCsvPath = swiftCsvPath;
     }
 
     /**
-     * Holds the path to the CSV file, injected from application properties.
+     * Holds the CSV locations, injected from application properties.
      */
     private final String swiftCsvPath;
 
     /**
-     * Creates a Resource bean pointing to the CSV file.
-     * @return the Resource representing CSV file
+     * Creates a resolver of CSV sources matching configured locations.
+     * @return the CsvSourceResolver of configured locations
      */
     @Bean
-    public Resource resource() {
-        return new ClassPathResource(swiftCsvPath);
+    public CsvSourceResolver csvSourceResolver() {
+        return new CsvSourceResolver(swiftCsvPath);
     }
 }
-
@@ -0,0 +1,17 @@
+package michal.malek.remitlytask.configuration;
+
+import michal.malek.remitlytask.configuration.properties.ImportProperties;
+import michal.malek.remitlytask.configuration.properties.SnapshotProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for swift data import.
+ * Scheduling is enabled for periodic reload of changed CSV sources.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ImportProperties.class, SnapshotProperties.class})
+public class ImportConfig {
+}
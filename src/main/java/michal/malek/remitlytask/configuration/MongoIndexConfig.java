@@ -0,0 +1,14 @@
+package michal.malek.remitlytask.configuration;
+
+import michal.malek.remitlytask.configuration.properties.IndexProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for MongoDB indexes.
+ * Indexes declared on documents are created with spring.data.mongodb.auto-index-creation.
+ */
+@Configuration
+@EnableConfigurationProperties(IndexProperties.class)
+public class MongoIndexConfig {
+}
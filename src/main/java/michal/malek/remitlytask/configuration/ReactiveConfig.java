@@ -0,0 +1,25 @@
+package michal.malek.remitlytask.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for reactive web stack, active with "reactive" profile.
+ * Tomcat stays on classpath for servlet stack, so Netty is selected explicitly,
+ * requests are then served by a few event-loop threads.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    /**
+     * Creates Netty server factory, preferred over Tomcat one.
+     * @return NettyReactiveWebServerFactory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
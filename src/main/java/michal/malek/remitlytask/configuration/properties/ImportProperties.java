@@ -0,0 +1,78 @@
+package michal.malek.remitlytask.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Properties of swift data import, bound from "swift.import" prefix.
+ */
+@ConfigurationProperties(prefix = "swift.import")
+@Getter
+@Setter
+public class ImportProperties {
+
+    /**
+     * Number of records parsed, mapped and upserted at once.
+     * Bounds memory used by import regardless of file size.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Number of batches upserted concurrently, each on its own pooled connection.
+     */
+    private int concurrency = 4;
+
+    /**
+     * Number of threads parsing CSV file, 0 for number of available processors.
+     * With more than one thread file is split into ranges of whole records parsed in parallel,
+     * CSV which is not a file is always parsed by single thread.
+     */
+    private int parseParallelism = 0;
+
+    /**
+     * Preferred size of range of CSV file parsed by single thread.
+     */
+    private DataSize parseRangeSize = DataSize.ofMegabytes(8);
+
+    /**
+     * Maximal number of CSV bytes parsed ahead of upserts, at least one range.
+     * Bounds memory of parsed records regardless of parse parallelism, with default sizes 4 ranges are parsed at once.
+     */
+    private DataSize parseBufferSize = DataSize.ofMegabytes(32);
+
+    /**
+     * Number of retries of a failed batch before import fails.
+     */
+    private int maxRetries = 3;
+
+    /**
+     * Pause before retry, multiplied by number of attempts already made.
+     */
+    private Duration retryBackoff = Duration.ofMillis(500);
+
+    /**
+     * Whether records imported earlier, but missing in current CSV, are deleted.
+     * Records added through API carry no content hash and are never deleted by import.
+     */
+    private boolean pruneRemoved = true;
+
+    /**
+     * Whether application reports readiness while first import runs, serving data already stored in DB.
+     * Otherwise it stays out of rotation until directory is loaded.
+     */
+    private boolean serveStaleWhileImporting = false;
+
+    /**
+     * Whether CSV sources are checked periodically and imported again once they changed.
+     */
+    private boolean reloadEnabled = true;
+
+    /**
+     * Pause between checks of CSV sources, bound by scheduler from "swift.import.reload-interval".
+     */
+    private Duration reloadInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,25 @@
+package michal.malek.remitlytask.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of MongoDB index verification, bound from "swift.index" prefix.
+ */
+@ConfigurationProperties(prefix = "swift.index")
+@Getter
+@Setter
+public class IndexProperties {
+
+    /**
+     * Whether plan of every repository query shape is checked on startup.
+     */
+    private boolean verifyOnStartup = true;
+
+    /**
+     * Whether startup fails when some query shape would scan whole collection.
+     * Otherwise such shape is only logged.
+     */
+    private boolean failOnCollectionScan = false;
+}
@@ -0,0 +1,27 @@
+package michal.malek.remitlytask.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Properties of directory snapshot, bound from "swift.snapshot" prefix.
+ */
+@ConfigurationProperties(prefix = "swift.snapshot")
+@Getter
+@Setter
+public class SnapshotProperties {
+
+    /**
+     * Whether directory is written to snapshot after import and restored from it on startup
+     * when neither CSV nor DB changed since.
+     */
+    private boolean enabled = true;
+
+    /**
+     * File holding snapshot, it is replaced atomically.
+     */
+    private Path path = Path.of("data/swift-directory.snapshot");
+}
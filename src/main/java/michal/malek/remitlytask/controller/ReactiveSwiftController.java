@@ -0,0 +1,116 @@
+package michal.malek.remitlytask.controller;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import michal.malek.remitlytask.cache.CachedJson;
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+import michal.malek.remitlytask.model.constant.messages.ValidationMessage;
+import michal.malek.remitlytask.model.standard.StandardizedSuccessResponse;
+import michal.malek.remitlytask.model.swift_data.request.SwiftBatchLookupRequest;
+import michal.malek.remitlytask.model.swift_data.request.SwiftBulkAddRequest;
+import michal.malek.remitlytask.model.swift_data.request.SwiftBulkDeleteRequest;
+import michal.malek.remitlytask.model.swift_data.request.SwiftDataRequest;
+import michal.malek.remitlytask.model.swift_data.response.BatchLookupResponse;
+import michal.malek.remitlytask.model.swift_data.response.BranchResponse;
+import michal.malek.remitlytask.model.swift_data.response.BulkWriteResponse;
+import michal.malek.remitlytask.service.ReactiveSwiftDataService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+/**
+ * Reactive variant of SwiftController, active with "reactive" profile.
+ * Exposes the same routes, requests and responses as SwiftController.
+ */
+@RequestMapping("/v1/swift-codes")
+@RestController
+@Validated
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSwiftController {
+    private final ReactiveSwiftDataService reactiveSwiftDataService;
+
+    @GetMapping("/{swiftCode}")
+    public Mono<ResponseEntity<byte[]>> getSwiftCode(
+            @NotNull(message = ValidationMessage.CANT_BE_BLANK)
+            @Pattern(regexp = ValidationConstants.SWIFT_REGEX, message = ValidationMessage.WRONG_SWIFT_FORMAT)
+            @PathVariable("swiftCode") String swiftCode) {
+        return reactiveSwiftDataService.getSwiftDataWithBranchesJson(swiftCode)
+                .map(this::jsonResponse);
+    }
+
+    @GetMapping("/country/{countryISO2code}")
+    public Mono<ResponseEntity<byte[]>> getSwiftCodesByCountry(
+            @NotNull(message = ValidationMessage.CANT_BE_BLANK)
+            @Pattern(regexp = ValidationConstants.ISO2_REGEX, message = ValidationMessage.WRONG_ISO2_FORMAT)
+            @PathVariable("countryISO2code") String countryISO2code,
+            @Pattern(regexp = ValidationConstants.SWIFT_REGEX, message = ValidationMessage.WRONG_SWIFT_FORMAT)
+            @RequestParam(name = "after", required = false) String after,
+            @Min(value = 1, message = ValidationMessage.WRONG_PAGE_SIZE)
+            @Max(value = ValidationConstants.MAX_PAGE_SIZE, message = ValidationMessage.WRONG_PAGE_SIZE)
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return reactiveSwiftDataService.getCountrySwiftDataJson(countryISO2code)
+                    .map(this::jsonResponse);
+        }
+        int pageSize = limit == null ? ValidationConstants.DEFAULT_PAGE_SIZE : limit;
+        return reactiveSwiftDataService.getCountrySwiftDataPageJson(countryISO2code, after, pageSize)
+                .map(this::jsonResponse);
+    }
+
+    @GetMapping(value = "/country/{countryISO2code}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BranchResponse> streamSwiftCodesByCountry(
+            @NotNull(message = ValidationMessage.CANT_BE_BLANK)
+            @Pattern(regexp = ValidationConstants.ISO2_REGEX, message = ValidationMessage.WRONG_ISO2_FORMAT)
+            @PathVariable("countryISO2code") String countryISO2code) {
+        return reactiveSwiftDataService.streamCountrySwiftData(countryISO2code);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<StandardizedSuccessResponse>> addSwiftCode(@Validated @RequestBody SwiftDataRequest request) {
+        return reactiveSwiftDataService.addSwiftData(request)
+                .map(response -> ResponseEntity.ok().body(response));
+    }
+
+    @PostMapping("/batch-lookup")
+    public Mono<ResponseEntity<BatchLookupResponse>> batchLookup(@Validated @RequestBody SwiftBatchLookupRequest request) {
+        return reactiveSwiftDataService.batchLookup(request.getSwiftCodes())
+                .map(response -> ResponseEntity.ok().body(response));
+    }
+
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<BulkWriteResponse>> addSwiftCodes(@Validated @RequestBody SwiftBulkAddRequest request) {
+        return reactiveSwiftDataService.addSwiftDataBulk(request.getRecords())
+                .map(response -> ResponseEntity.ok().body(response));
+    }
+
+    @DeleteMapping("/bulk")
+    public Mono<ResponseEntity<BulkWriteResponse>> deleteSwiftCodes(@Validated @RequestBody SwiftBulkDeleteRequest request) {
+        return reactiveSwiftDataService.deleteSwiftDataBulk(request.getSwiftCodes())
+                .map(response -> ResponseEntity.ok().body(response));
+    }
+
+    @DeleteMapping("/{swiftCode}")
+    public Mono<ResponseEntity<StandardizedSuccessResponse>> deleteSwiftCode(
+            @NotNull(message = ValidationMessage.CANT_BE_BLANK)
+            @Pattern(regexp = ValidationConstants.SWIFT_REGEX, message = ValidationMessage.WRONG_SWIFT_FORMAT)
+            @PathVariable("swiftCode") String swiftCode) {
+        return reactiveSwiftDataService.deleteSwiftData(swiftCode)
+                .map(response -> ResponseEntity.ok().body(response));
+    }
+
+    private ResponseEntity<byte[]> jsonResponse(CachedJson json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.getETag())
+                .body(json.getBody());
+    }
+}
@@ -1,47 +1,80 @@
 package michal.malek.remitlytask.controller;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import michal.malek.remitlytask.cache.CachedJson;
 import michal.malek.remitlytask.model.constant.ValidationConstants;
 import michal.malek.remitlytask.model.constant.messages.ValidationMessage;
 import michal.malek.remitlytask.model.standard.StandardizedSuccessResponse;
+import michal.malek.remitlytask.model.swift_data.request.SwiftBatchLookupRequest;
+import michal.malek.remitlytask.model.swift_data.request.SwiftBulkAddRequest;
+import michal.malek.remitlytask.model.swift_data.request.SwiftBulkDeleteRequest;
 import michal.malek.remitlytask.model.swift_data.request.SwiftDataRequest;
-import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataResponse;
-import michal.malek.remitlytask.model.swift_data.response.HeadquarterAndBranchesResponse;
+import michal.malek.remitlytask.model.swift_data.response.BatchLookupResponse;
+import michal.malek.remitlytask.model.swift_data.response.BulkWriteResponse;
 import michal.malek.remitlytask.service.SwiftDataService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 /**
  * Main controller of application.
  * Responsible for swift data retrieval and addition.
+ * GET endpoints write pre-serialized JSON with ETag, so If-None-Match requests end with 304.
+ * Country listing is paged when cursor or limit is provided, and can be streamed as NDJSON.
  */
 @RequestMapping("/v1/swift-codes")
 @RestController
 @Validated
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SwiftController {
     private final SwiftDataService swiftDataService;
 
     @GetMapping("/{swiftCode}")
-    public ResponseEntity<HeadquarterAndBranchesResponse> getSwiftCode(
+    public ResponseEntity<byte[]> getSwiftCode(
             @NotNull(message = ValidationMessage.CANT_BE_BLANK)
             @Pattern(regexp = ValidationConstants.SWIFT_REGEX, message = ValidationMessage.WRONG_SWIFT_FORMAT)
             @PathVariable("swiftCode") String swiftCode) {
-        HeadquarterAndBranchesResponse swiftDataWithBranches = swiftDataService.getSwiftDataWithBranches(swiftCode);
-        return ResponseEntity.ok().body(swiftDataWithBranches);
+        CachedJson swiftDataWithBranches = swiftDataService.getSwiftDataWithBranchesJson(swiftCode);
+        return jsonResponse(swiftDataWithBranches);
     }
 
     @GetMapping("/country/{countryISO2code}")
-    public ResponseEntity<CountrySwiftDataResponse> getSwiftCodesByCountry(
+    public ResponseEntity<byte[]> getSwiftCodesByCountry(
+            @NotNull(message = ValidationMessage.CANT_BE_BLANK)
+            @Pattern(regexp = ValidationConstants.ISO2_REGEX, message = ValidationMessage.WRONG_ISO2_FORMAT)
+            @PathVariable("countryISO2code") String countryISO2code,
+            @Pattern(regexp = ValidationConstants.SWIFT_REGEX, message = ValidationMessage.WRONG_SWIFT_FORMAT)
+            @RequestParam(name = "after", required = false) String after,
+            @Min(value = 1, message = ValidationMessage.WRONG_PAGE_SIZE)
+            @Max(value = ValidationConstants.MAX_PAGE_SIZE, message = ValidationMessage.WRONG_PAGE_SIZE)
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return jsonResponse(swiftDataService.getCountrySwiftDataJson(countryISO2code));
+        }
+        int pageSize = limit == null ? ValidationConstants.DEFAULT_PAGE_SIZE : limit;
+        CachedJson countrySwiftDataPage = swiftDataService.getCountrySwiftDataPageJson(countryISO2code, after, pageSize);
+        return jsonResponse(countrySwiftDataPage);
+    }
+
+    @GetMapping("/country/{countryISO2code}/stream")
+    public ResponseEntity<StreamingResponseBody> streamSwiftCodesByCountry(
             @NotNull(message = ValidationMessage.CANT_BE_BLANK)
             @Pattern(regexp = ValidationConstants.ISO2_REGEX, message = ValidationMessage.WRONG_ISO2_FORMAT)
             @PathVariable("countryISO2code") String countryISO2code) {
-        CountrySwiftDataResponse countrySwiftData = swiftDataService.getCountrySwiftData(countryISO2code);
-        return ResponseEntity.ok().body(countrySwiftData);
+        swiftDataService.checkCountryExists(countryISO2code);
+        StreamingResponseBody body = outputStream -> swiftDataService.writeCountrySwiftData(countryISO2code, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping
@@ -50,6 +83,24 @@ public class SwiftController {
         return ResponseEntity.ok().body(response);
     }
 
+    @PostMapping("/batch-lookup")
+    public ResponseEntity<BatchLookupResponse> batchLookup(@Validated @RequestBody SwiftBatchLookupRequest request) {
+        BatchLookupResponse response = swiftDataService.batchLookup(request.getSwiftCodes());
+        return ResponseEntity.ok().body(response);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkWriteResponse> addSwiftCodes(@Validated @RequestBody SwiftBulkAddRequest request) {
+        BulkWriteResponse response = swiftDataService.addSwiftDataBulk(request.getRecords());
+        return ResponseEntity.ok().body(response);
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkWriteResponse> deleteSwiftCodes(@Validated @RequestBody SwiftBulkDeleteRequest request) {
+        BulkWriteResponse response = swiftDataService.deleteSwiftDataBulk(request.getSwiftCodes());
+        return ResponseEntity.ok().body(response);
+    }
+
     @DeleteMapping("/{swiftCode}")
     public ResponseEntity<StandardizedSuccessResponse> deleteSwiftCode(
             @NotNull(message = ValidationMessage.CANT_BE_BLANK)
@@ -58,4 +109,11 @@ public class SwiftController {
         StandardizedSuccessResponse response = swiftDataService.deleteSwiftData(swiftCode);
         return ResponseEntity.ok().body(response);
     }
+
+    private ResponseEntity<byte[]> jsonResponse(CachedJson json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.getETag())
+                .body(json.getBody());
+    }
 }
@@ -0,0 +1,151 @@
+package michal.malek.remitlytask.directory;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.configuration.properties.SnapshotProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Stores SwiftDirectory as binary snapshot, so restart doesn't have to import CSV and read whole DB again.
+ * Snapshot is a header followed by bytes of PackedSwiftTable. Header holds versions of both formats,
+ * fingerprint of sources and checksum of table, snapshot is restored only when all of them match.
+ * Restored table is memory-mapped and read in place. Its slot index and string offsets are part of the file,
+ * so restore neither decodes records nor builds an index on heap, it only reads mapped bytes once to verify checksum.
+ * <p>
+ * Header: magic, snapshot version, table format version, reserved int, CSV checksum, DB revision,
+ * DB record count, table length, table checksum, padded to 64 bytes.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DirectorySnapshotStore {
+    static final int MAGIC = 0x5357534E;
+    static final int SNAPSHOT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    private final SwiftDirectory swiftDirectory;
+    private final SnapshotProperties snapshotProperties;
+
+    /**
+     * Loads directory from snapshot when it was built from the same sources.
+     * Any problem with snapshot is logged and reported as not restored, so data is imported instead.
+     * @param fingerprint sources directory should be built from
+     * @return true when directory was loaded from snapshot
+     */
+    public boolean restore(SnapshotFingerprint fingerprint) {
+        Path path = snapshotProperties.getPath();
+        if (!snapshotProperties.isEnabled() || !Files.isRegularFile(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                log.info("Snapshot {} ignored, unexpected size {}", path, channel.size());
+                return false;
+            }
+            // mapping stays valid after channel is closed
+            ByteBuffer snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Optional<String> rejection = rejectionOf(snapshot, fingerprint);
+            if (rejection.isPresent()) {
+                log.info("Snapshot {} ignored, {}", path, rejection.get());
+                return false;
+            }
+            swiftDirectory.load(PackedSwiftTable.wrap(snapshot.slice(HEADER_SIZE, snapshot.capacity() - HEADER_SIZE)));
+            return true;
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.warn("Failed to restore snapshot {}", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes directory to snapshot, replacing previous one atomically.
+     * Failure is only logged, next start imports data instead.
+     * @param fingerprint sources directory was built from, read before directory was loaded
+     */
+    public void save(SnapshotFingerprint fingerprint) {
+        if (!snapshotProperties.isEnabled()) {
+            return;
+        }
+        Optional<PackedSwiftTable> table = swiftDirectory.pack();
+        if (table.isEmpty()) {
+            log.info("Snapshot not written, directory holds swift codes which can't be packed");
+            return;
+        }
+        Path path = snapshotProperties.getPath().toAbsolutePath();
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer tableBytes = table.get().buffer();
+                writeFully(channel, header(fingerprint, tableBytes));
+                writeFully(channel, tableBytes);
+                channel.force(true);
+            }
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Snapshot of {} swift records written to {}", table.get().size(), path);
+        } catch (IOException e) {
+            log.warn("Failed to write snapshot {}", path, e);
+        }
+    }
+
+    private static ByteBuffer header(SnapshotFingerprint fingerprint, ByteBuffer tableBytes) {
+        return ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(SNAPSHOT_VERSION)
+                .putInt(PackedSwiftTable.FORMAT_VERSION)
+                .putInt(0)
+                .putLong(fingerprint.csvChecksum())
+                .putLong(fingerprint.dbRevision())
+                .putLong(fingerprint.dbRecordCount())
+                .putLong(tableBytes.remaining())
+                .putLong(checksum(tableBytes))
+                .clear();
+    }
+
+    /**
+     * @return reason why snapshot can't be restored, empty when it is valid for provided sources
+     */
+    private static Optional<String> rejectionOf(ByteBuffer snapshot, SnapshotFingerprint fingerprint) {
+        if (snapshot.getInt(0) != MAGIC) {
+            return Optional.of("not a swift directory snapshot");
+        }
+        if (snapshot.getInt(4) != SNAPSHOT_VERSION || snapshot.getInt(8) != PackedSwiftTable.FORMAT_VERSION) {
+            return Optional.of("written in other format version");
+        }
+        SnapshotFingerprint snapshotFingerprint =
+                new SnapshotFingerprint(snapshot.getLong(16), snapshot.getLong(24), snapshot.getLong(32));
+        if (!snapshotFingerprint.equals(fingerprint)) {
+            return Optional.of("sources changed since " + snapshotFingerprint);
+        }
+        if (snapshot.getLong(40) != snapshot.capacity() - HEADER_SIZE) {
+            return Optional.of("table is truncated");
+        }
+        if (snapshot.getLong(48) != checksum(snapshot.slice(HEADER_SIZE, snapshot.capacity() - HEADER_SIZE))) {
+            return Optional.of("checksum doesn't match");
+        }
+        return Optional.empty();
+    }
+
+    private static long checksum(ByteBuffer bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.duplicate());
+        return crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
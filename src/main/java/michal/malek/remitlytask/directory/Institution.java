@@ -0,0 +1,54 @@
+package michal.malek.remitlytask.directory;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable group of records sharing 8-character bank/location prefix.
+ * Holds headquarters (if present) and its branches sorted by swift code.
+ * Built by SwiftDirectory on request from records of one prefix range.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Institution {
+    static final Institution EMPTY = new Institution(null, List.of());
+
+    private static final Comparator<SwiftDataDoc> BY_SWIFT_CODE = Comparator.comparing(SwiftDataDoc::getSwiftCode);
+
+    private final SwiftDataDoc headquarter;
+    private final List<SwiftDataDoc> branches;
+
+    /**
+     * @param swiftDataDocs records sharing one prefix
+     * @return institution of provided records
+     */
+    static Institution of(List<SwiftDataDoc> swiftDataDocs) {
+        SwiftDataDoc headquarter = null;
+        List<SwiftDataDoc> branches = new ArrayList<>(swiftDataDocs.size());
+        for (SwiftDataDoc doc : swiftDataDocs) {
+            if (doc.isHeadquarter()) {
+                headquarter = doc;
+            } else {
+                branches.add(doc);
+            }
+        }
+        branches.sort(BY_SWIFT_CODE);
+        return new Institution(headquarter, List.copyOf(branches));
+    }
+
+    /**
+     * Extracts bank/location prefix from swift code.
+     * @param swiftCode swift code
+     * @return first 8 characters of swift code
+     */
+    public static String prefixOf(String swiftCode) {
+        return swiftCode.length() <= ValidationConstants.SWIFT_PREFIX_LENGTH ? swiftCode : swiftCode.substring(0, ValidationConstants.SWIFT_PREFIX_LENGTH);
+    }
+}
@@ -0,0 +1,407 @@
+package michal.malek.remitlytask.directory;
+
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable table of swift records packed into single ByteBuffer.
+ * Rows are sorted by swift code packed into long, so all codes sharing a prefix form one continuous range
+ * of rows found by binary search over primitive longs. Lookup of a single code goes through an open
+ * addressing index of rows instead, so it touches few cache lines like a hash map.
+ * Strings are dictionary-encoded, each distinct value is stored once as UTF-8 and rows refer to it by id.
+ * Index is part of the buffer too, so records are materialized and strings decoded only when read,
+ * nothing but the buffer and a map of countries stays on heap, also when buffer is a mapped file.
+ * <p>
+ * Layout: header, codes (long per row), slots (row + 1 per slot, 0 when empty), rows (bank name, address,
+ * country ISO2, country name ids and flags), countries (ISO2 id, first and count of their rows),
+ * country rows (row numbers sorted by swift code), string offsets and UTF-8 bytes of strings.
+ */
+final class PackedSwiftTable {
+    static final int MAGIC = 0x53574654;
+    static final int FORMAT_VERSION = 2;
+    static final PackedSwiftTable EMPTY = build(List.of());
+
+    private static final int HEADER_SIZE = 32;
+    private static final int STRINGS_PER_ROW = 4;
+    private static final int ROW_SIZE = STRINGS_PER_ROW * Integer.BYTES + 1;
+    private static final int COUNTRY_SIZE = 3 * Integer.BYTES;
+    private static final int NULL_STRING = -1;
+    private static final byte HEADQUARTER_FLAG = 1;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final int countryCount;
+    private final int slotsOffset;
+    private final int slotMask;
+    private final int slotShift;
+    private final int rowsOffset;
+    private final int countriesOffset;
+    private final int countryRowsOffset;
+    private final int stringOffsetsOffset;
+    private final int stringBytesOffset;
+    private final Map<String, Integer> countrySlots;
+
+    private PackedSwiftTable(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Not a packed swift table of version " + FORMAT_VERSION);
+        }
+        rowCount = buffer.getInt(8);
+        int countryRowCount = buffer.getInt(12);
+        countryCount = buffer.getInt(16);
+        int stringCount = buffer.getInt(20);
+        int slotBits = buffer.getInt(28);
+        slotsOffset = HEADER_SIZE + rowCount * Long.BYTES;
+        slotMask = (1 << slotBits) - 1;
+        slotShift = Long.SIZE - slotBits;
+        rowsOffset = slotsOffset + (1 << slotBits) * Integer.BYTES;
+        countriesOffset = rowsOffset + rowCount * ROW_SIZE;
+        countryRowsOffset = countriesOffset + countryCount * COUNTRY_SIZE;
+        stringOffsetsOffset = countryRowsOffset + countryRowCount * Integer.BYTES;
+        stringBytesOffset = stringOffsetsOffset + (stringCount + 1) * Integer.BYTES;
+        countrySlots = new HashMap<>();
+        for (int slot = 0; slot < countryCount; slot++) {
+            countrySlots.put(string(buffer.getInt(countriesOffset + slot * COUNTRY_SIZE)), slot);
+        }
+    }
+
+    /**
+     * Wraps buffer written by build, without copying it.
+     * @param buffer buffer holding table, e.g. memory-mapped file
+     * @return table reading provided buffer
+     * @throws IllegalArgumentException when buffer does not hold table of current format
+     */
+    static PackedSwiftTable wrap(ByteBuffer buffer) {
+        return new PackedSwiftTable(buffer.duplicate());
+    }
+
+    /**
+     * Packs provided records.
+     * @param swiftDataDocs records with unique swift codes accepted by SwiftCodeCodec
+     * @return table holding records
+     */
+    static PackedSwiftTable build(Collection<SwiftDataDoc> swiftDataDocs) {
+        Builder builder = new Builder();
+        swiftDataDocs.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * @return read-only view of whole table, e.g. to write it to a file
+     */
+    ByteBuffer buffer() {
+        return buffer.asReadOnlyBuffer().clear();
+    }
+
+    /**
+     * @return number of rows
+     */
+    int size() {
+        return rowCount;
+    }
+
+    /**
+     * @param packedCode packed swift code
+     * @return row of code, or -1 when table doesn't hold it
+     */
+    int indexOf(long packedCode) {
+        for (int slot = slotOf(packedCode, slotShift); ; slot = (slot + 1) & slotMask) {
+            int slotRow = buffer.getInt(slotsOffset + slot * Integer.BYTES);
+            if (slotRow == 0) {
+                return -1;
+            }
+            if (codeAt(slotRow - 1) == packedCode) {
+                return slotRow - 1;
+            }
+        }
+    }
+
+    /**
+     * @param packedCode packed swift code
+     * @return first row which code is not lower than provided one, size when there is none
+     */
+    int lowerBound(long packedCode) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (codeAt(middle) < packedCode) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    long codeAt(int row) {
+        return buffer.getLong(HEADER_SIZE + row * Long.BYTES);
+    }
+
+    /**
+     * Materializes record of a row, every read returns new instance which is not kept by table.
+     * @param row row number
+     * @return record of row
+     */
+    SwiftDataDoc docAt(int row) {
+        int rowOffset = rowsOffset + row * ROW_SIZE;
+        String swiftCode = SwiftCodeCodec.decode(codeAt(row));
+        return SwiftDataDoc.builder()
+                .swiftCode(swiftCode)
+                .institutionPrefix(Institution.prefixOf(swiftCode))
+                .bankName(string(buffer.getInt(rowOffset)))
+                .address(string(buffer.getInt(rowOffset + Integer.BYTES)))
+                .countryISO2(string(buffer.getInt(rowOffset + 2 * Integer.BYTES)))
+                .countryName(string(buffer.getInt(rowOffset + 3 * Integer.BYTES)))
+                .isHeadquarter(buffer.get(rowOffset + 4 * Integer.BYTES) == HEADQUARTER_FLAG)
+                .build();
+    }
+
+    /**
+     * @param countryISO2 2-letter country code
+     * @return slot of country, or -1 when table holds no record of it
+     */
+    int countrySlot(String countryISO2) {
+        return countrySlots.getOrDefault(countryISO2, -1);
+    }
+
+    /**
+     * @param slot slot of country
+     * @return number of rows of country
+     */
+    int countryRowCount(int slot) {
+        return buffer.getInt(countriesOffset + slot * COUNTRY_SIZE + 2 * Integer.BYTES);
+    }
+
+    /**
+     * @param slot slot of country
+     * @param index index within rows of country, they are sorted by swift code
+     * @return row number
+     */
+    int countryRow(int slot, int index) {
+        int firstCountryRow = buffer.getInt(countriesOffset + slot * COUNTRY_SIZE + Integer.BYTES);
+        return buffer.getInt(countryRowsOffset + (firstCountryRow + index) * Integer.BYTES);
+    }
+
+    /**
+     * @param slot slot of country
+     * @param packedCode packed swift code
+     * @return index of first row of country which code is greater than provided one
+     */
+    int countryUpperBound(int slot, long packedCode) {
+        int low = 0;
+        int high = countryRowCount(slot);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (codeAt(countryRow(slot, middle)) <= packedCode) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int slotOf(long packedCode, int slotShift) {
+        return (int) ((packedCode * HASH_MULTIPLIER) >>> slotShift);
+    }
+
+    private String string(int stringId) {
+        if (stringId == NULL_STRING) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsetsOffset + stringId * Integer.BYTES);
+        int end = buffer.getInt(stringOffsetsOffset + (stringId + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringBytesOffset + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Packs records added one by one. Only codes, string ids and flags of added records are kept,
+     * so records can be read from a DB cursor and dropped right away.
+     */
+    static final class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final StringDictionary dictionary = new StringDictionary();
+        private final Map<String, Integer> countryCounts = new TreeMap<>();
+        private long[] codes = new long[INITIAL_CAPACITY];
+        private int[] rowStrings = new int[INITIAL_CAPACITY * STRINGS_PER_ROW];
+        private boolean[] headquarters = new boolean[INITIAL_CAPACITY];
+        private int size;
+        private boolean sorted = true;
+
+        /**
+         * @param swiftDataDoc record which swift code is accepted by SwiftCodeCodec and was not added yet
+         */
+        void add(SwiftDataDoc swiftDataDoc) {
+            long packed = SwiftCodeCodec.encode(swiftDataDoc.getSwiftCode());
+            if (packed == SwiftCodeCodec.INVALID) {
+                throw new IllegalArgumentException("Swift code can't be packed: " + swiftDataDoc.getSwiftCode());
+            }
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+                rowStrings = Arrays.copyOf(rowStrings, size * 2 * STRINGS_PER_ROW);
+                headquarters = Arrays.copyOf(headquarters, size * 2);
+            }
+            sorted &= size == 0 || codes[size - 1] < packed;
+            codes[size] = packed;
+            rowStrings[size * STRINGS_PER_ROW] = dictionary.idOf(swiftDataDoc.getBankName());
+            rowStrings[size * STRINGS_PER_ROW + 1] = dictionary.idOf(swiftDataDoc.getAddress());
+            rowStrings[size * STRINGS_PER_ROW + 2] = dictionary.idOf(swiftDataDoc.getCountryISO2());
+            rowStrings[size * STRINGS_PER_ROW + 3] = dictionary.idOf(swiftDataDoc.getCountryName());
+            headquarters[size] = swiftDataDoc.isHeadquarter();
+            if (swiftDataDoc.getCountryISO2() != null) {
+                countryCounts.merge(swiftDataDoc.getCountryISO2(), 1, Integer::sum);
+            }
+            size++;
+        }
+
+        /**
+         * @return number of added records
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return table holding added records
+         * @throws IllegalArgumentException when a swift code was added twice
+         */
+        PackedSwiftTable build() {
+            int[] order = sortedOrder();
+            int countryRowCount = countryCounts.values().stream().mapToInt(Integer::intValue).sum();
+            // at least twice as many slots as rows keeps probe sequences short
+            int slotBits = Math.max(1, 33 - Integer.numberOfLeadingZeros(Math.max(1, size)));
+            int tableSize = HEADER_SIZE + size * (Long.BYTES + ROW_SIZE) + (1 << slotBits) * Integer.BYTES
+                    + countryCounts.size() * COUNTRY_SIZE + countryRowCount * Integer.BYTES
+                    + (dictionary.size() + 1) * Integer.BYTES + dictionary.byteSize();
+
+            ByteBuffer buffer = ByteBuffer.allocate(tableSize);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(size).putInt(countryRowCount)
+                    .putInt(countryCounts.size()).putInt(dictionary.size()).putInt(dictionary.byteSize()).putInt(slotBits);
+            for (int added : order) {
+                buffer.putLong(codes[added]);
+            }
+            writeSlots(buffer, slotBits);
+            for (int added : order) {
+                for (int i = 0; i < STRINGS_PER_ROW; i++) {
+                    buffer.putInt(rowStrings[added * STRINGS_PER_ROW + i]);
+                }
+                buffer.put(headquarters[added] ? HEADQUARTER_FLAG : 0);
+            }
+
+            // rows are scattered into ranges of their countries in code order, so every range stays sorted
+            Map<Integer, Integer> nextCountryRow = new HashMap<>();
+            int firstCountryRow = 0;
+            for (Map.Entry<String, Integer> country : countryCounts.entrySet()) {
+                int countryId = dictionary.idOf(country.getKey());
+                buffer.putInt(countryId).putInt(firstCountryRow).putInt(country.getValue());
+                nextCountryRow.put(countryId, firstCountryRow);
+                firstCountryRow += country.getValue();
+            }
+            int[] countryRows = new int[countryRowCount];
+            for (int row = 0; row < size; row++) {
+                int countryId = rowStrings[order[row] * STRINGS_PER_ROW + 2];
+                if (countryId != NULL_STRING) {
+                    countryRows[nextCountryRow.merge(countryId, 1, Integer::sum) - 1] = row;
+                }
+            }
+            for (int countryRow : countryRows) {
+                buffer.putInt(countryRow);
+            }
+            dictionary.writeTo(buffer);
+            return new PackedSwiftTable(buffer.flip());
+        }
+
+        /**
+         * Writes open addressing index of rows which codes were just written, buffer is positioned after it.
+         * Slots are probed linearly, allocated buffer is zeroed, so untouched slots are empty.
+         */
+        private void writeSlots(ByteBuffer buffer, int slotBits) {
+            int slotsOffset = buffer.position();
+            int slotMask = (1 << slotBits) - 1;
+            for (int row = 0; row < size; row++) {
+                int slot = slotOf(buffer.getLong(HEADER_SIZE + row * Long.BYTES), Long.SIZE - slotBits);
+                while (buffer.getInt(slotsOffset + slot * Integer.BYTES) != 0) {
+                    slot = (slot + 1) & slotMask;
+                }
+                buffer.putInt(slotsOffset + slot * Integer.BYTES, row + 1);
+            }
+            buffer.position(slotsOffset + (slotMask + 1) * Integer.BYTES);
+        }
+
+        /**
+         * Orders added records by code without boxing, codes are unique so each one has its own position
+         * among sorted codes. Records read in code order, e.g. from table being compacted, are not sorted again.
+         */
+        private int[] sortedOrder() {
+            int[] order = new int[size];
+            if (sorted) {
+                Arrays.setAll(order, added -> added);
+                return order;
+            }
+            long[] sortedCodes = Arrays.copyOf(codes, size);
+            Arrays.sort(sortedCodes);
+            for (int row = 1; row < size; row++) {
+                if (sortedCodes[row] == sortedCodes[row - 1]) {
+                    throw new IllegalArgumentException("Swift code added twice: " + SwiftCodeCodec.decode(sortedCodes[row]));
+                }
+            }
+            for (int added = 0; added < size; added++) {
+                order[Arrays.binarySearch(sortedCodes, codes[added])] = added;
+            }
+            return order;
+        }
+    }
+
+    /**
+     * Assigns ids to distinct strings in order of first occurrence.
+     */
+    private static final class StringDictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private int byteSize;
+
+        private int idOf(String value) {
+            if (value == null) {
+                return NULL_STRING;
+            }
+            return ids.computeIfAbsent(value, key -> {
+                byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                byteSize += bytes.length;
+                return encoded.size() - 1;
+            });
+        }
+
+        private int size() {
+            return encoded.size();
+        }
+
+        private int byteSize() {
+            return byteSize;
+        }
+
+        private void writeTo(ByteBuffer buffer) {
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                buffer.putInt(offset);
+                offset += bytes.length;
+            }
+            buffer.putInt(offset);
+            encoded.forEach(buffer::put);
+        }
+    }
+}
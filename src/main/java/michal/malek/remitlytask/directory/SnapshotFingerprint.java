@@ -0,0 +1,10 @@
+package michal.malek.remitlytask.directory;
+
+/**
+ * Describes sources a directory snapshot was built from, snapshot is valid only while they are unchanged.
+ * @param csvChecksum CRC32C of imported CSV
+ * @param dbRevision revision of swift data in DB
+ * @param dbRecordCount number of swift records in DB
+ */
+public record SnapshotFingerprint(long csvChecksum, long dbRevision, long dbRecordCount) {
+}
@@ -0,0 +1,90 @@
+package michal.malek.remitlytask.directory;
+
+/**
+ * Packs swift code (up to 11 characters of [A-Z0-9]) into single long.
+ * Every character takes one of 37 symbols, 0 is reserved for padding of shorter codes,
+ * so numeric order of packed values equals lexicographic order of codes
+ * and all codes sharing a prefix form one continuous range.
+ */
+public final class SwiftCodeCodec {
+    public static final int MAX_LENGTH = 11;
+    public static final long INVALID = -1L;
+
+    private static final int RADIX = 37;
+    private static final int DIGIT_OFFSET = 1;
+    private static final int LETTER_OFFSET = 11;
+
+    private SwiftCodeCodec() {
+    }
+
+    /**
+     * @param swiftCode swift code
+     * @return packed code, or INVALID when code is empty, too long or has characters outside [A-Z0-9]
+     */
+    public static long encode(CharSequence swiftCode) {
+        int length = swiftCode.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            return INVALID;
+        }
+        long packed = 0;
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            int symbol = 0;
+            if (i < length) {
+                symbol = symbolOf(swiftCode.charAt(i));
+                if (symbol < 0) {
+                    return INVALID;
+                }
+            }
+            packed = packed * RADIX + symbol;
+        }
+        return packed;
+    }
+
+    /**
+     * @param packed value created by encode
+     * @return swift code
+     */
+    public static String decode(long packed) {
+        char[] chars = new char[MAX_LENGTH];
+        int length = 0;
+        for (int i = MAX_LENGTH - 1; i >= 0; i--) {
+            int symbol = (int) (packed % RADIX);
+            packed /= RADIX;
+            if (symbol != 0 && length == 0) {
+                length = i + 1;
+            }
+            chars[i] = charOf(symbol);
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Width of range holding all codes which start with prefix of provided length.
+     * @param prefixLength number of characters of prefix
+     * @return number of packed values sharing one prefix
+     */
+    public static long prefixRangeWidth(int prefixLength) {
+        long width = 1;
+        for (int i = prefixLength; i < MAX_LENGTH; i++) {
+            width *= RADIX;
+        }
+        return width;
+    }
+
+    private static int symbolOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0' + DIGIT_OFFSET;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + LETTER_OFFSET;
+        }
+        return -1;
+    }
+
+    private static char charOf(int symbol) {
+        if (symbol >= LETTER_OFFSET) {
+            return (char) ('A' + symbol - LETTER_OFFSET);
+        }
+        return symbol == 0 ? ' ' : (char) ('0' + symbol - DIGIT_OFFSET);
+    }
+}
@@ -0,0 +1,51 @@
+package michal.malek.remitlytask.directory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compact set of swift codes, filled once and then queried.
+ * Codes are kept as packed longs (8 bytes each), codes which can't be packed fall back to strings.
+ * Not thread-safe while filling.
+ */
+public class SwiftCodeSet {
+    private long[] packedCodes = new long[1024];
+    private int size;
+    private boolean sorted = true;
+    private final Set<String> unpackableCodes = new HashSet<>();
+
+    /**
+     * @param swiftCode swift code to add
+     */
+    public void add(String swiftCode) {
+        long packed = SwiftCodeCodec.encode(swiftCode);
+        if (packed == SwiftCodeCodec.INVALID) {
+            unpackableCodes.add(swiftCode);
+            return;
+        }
+        if (size == packedCodes.length) {
+            packedCodes = Arrays.copyOf(packedCodes, size * 2);
+        }
+        if (size > 0 && packedCodes[size - 1] > packed) {
+            sorted = false;
+        }
+        packedCodes[size++] = packed;
+    }
+
+    /**
+     * @param swiftCode swift code
+     * @return true when code was added before
+     */
+    public boolean contains(String swiftCode) {
+        long packed = SwiftCodeCodec.encode(swiftCode);
+        if (packed == SwiftCodeCodec.INVALID) {
+            return unpackableCodes.contains(swiftCode);
+        }
+        if (!sorted) {
+            Arrays.sort(packedCodes, 0, size);
+            sorted = true;
+        }
+        return Arrays.binarySearch(packedCodes, 0, size, packed) >= 0;
+    }
+}
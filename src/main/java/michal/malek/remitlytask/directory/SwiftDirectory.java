@@ -0,0 +1,597 @@
+package michal.malek.remitlytask.directory;
+
+import jakarta.annotation.PreDestroy;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory directory holding all swift data records.
+ * Serves read paths without a round-trip to MongoDB.
+ * Repository stays the source of truth, so directory is changed only after DB write succeeded.
+ * Reads are lock-free, writes are serialized so all indexes always describe the same records.
+ * <p>
+ * Loaded records are kept in PackedSwiftTable, writes go to an overlay of changed and removed records
+ * ordered like the table. Reads merge both, once overlay outgrows a fraction of the table
+ * they are packed together again by a background compactor, the same way as a load.
+ * <p>
+ * Load builds new content aside while reads and writes go on with current one. Writes made meanwhile
+ * are journaled and replayed on new content, which then replaces current one with a single volatile write,
+ * so readers never block and never see partially loaded directory.
+ */
+@Component
+public class SwiftDirectory {
+    private static final int MIN_COMPACTION_THRESHOLD = 4096;
+    private static final int COMPACTION_DIVISOR = 8;
+
+    /**
+     * Marks in overlay a record of table which was removed.
+     */
+    private static final SwiftDataDoc REMOVED = new SwiftDataDoc();
+
+    /**
+     * Current table and overlay, swapped as a whole on load and compaction.
+     */
+    private volatile State state = State.of(PackedSwiftTable.EMPTY);
+
+    /**
+     * Number of records, changed only by serialized writes.
+     */
+    private volatile int size;
+
+    /**
+     * Tells if directory was filled from DB, until then reads have to go to repository.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Writes made while load is running, guarded by write lock. Null when no load is running.
+     */
+    private List<JournalEntry> journal;
+
+    /**
+     * Serializes writes, journal and swap of loaded content. Not a monitor, as writes run on request threads
+     * which may be virtual and virtual thread blocked in monitor would pin its carrier.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Serializes loads, so only one journal is kept. Not a monitor, as it is held while DB cursor is read
+     * and virtual thread blocked in monitor would pin its carrier.
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /**
+     * Packs overlay into table off the write path, so writes never wait for it.
+     */
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "swift-directory-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Tells if compaction was submitted and did not start yet, so writes submit at most one.
+     */
+    private final AtomicBoolean compactionPending = new AtomicBoolean();
+
+    /**
+     * Replaces content of directory with provided records.
+     * @param swiftDataDocs all records stored in DB
+     */
+    public void load(Iterable<SwiftDataDoc> swiftDataDocs) {
+        loadWith(swiftDataDocs::forEach);
+    }
+
+    /**
+     * Replaces content of directory with records of a stream, e.g. DB cursor.
+     * Stream is opened once writes are journaled, so writes racing with the cursor are never lost.
+     * @param swiftDataDocs opens stream of all records stored in DB, stream is closed once read
+     */
+    public void loadStream(Supplier<Stream<SwiftDataDoc>> swiftDataDocs) {
+        loadWith(docConsumer -> {
+            try (Stream<SwiftDataDoc> docs = swiftDataDocs.get()) {
+                docs.forEach(docConsumer);
+            }
+        });
+    }
+
+    /**
+     * Reads and packs records without blocking writes, writes made meanwhile are replayed
+     * on loaded content, so they are kept whether records were read before or after them.
+     * Records are packed one by one as they are read, so only current content and packed arrays
+     * of new one are held, never a list of all records.
+     */
+    private void loadWith(Consumer<Consumer<SwiftDataDoc>> docsReader) {
+        loadLock.lock();
+        startJournal();
+        try {
+            PackedSwiftTable.Builder tableBuilder = new PackedSwiftTable.Builder();
+            List<SwiftDataDoc> unpackableDocs = new ArrayList<>();
+            docsReader.accept(doc -> {
+                if (isPackable(doc)) {
+                    tableBuilder.add(doc);
+                } else {
+                    unpackableDocs.add(doc);
+                }
+            });
+            State loadedState = State.of(tableBuilder.build(), unpackableDocs);
+            replaceWithJournaled(loadedState, tableBuilder.size() + unpackableDocs.size());
+        } finally {
+            stopJournal();
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces content of directory with already packed records, e.g. mapped from snapshot.
+     * @param table all records stored in DB
+     */
+    void load(PackedSwiftTable table) {
+        loadLock.lock();
+        startJournal();
+        try {
+            replaceWithJournaled(State.of(table), table.size());
+        } finally {
+            stopJournal();
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Packs overlay into table, so table alone holds all records.
+     * @return table of all records, empty when directory is not loaded or holds codes which can't be packed
+     */
+    Optional<PackedSwiftTable> pack() {
+        if (!loaded) {
+            return Optional.empty();
+        }
+        if (!state.overlay.isEmpty()) {
+            compact();
+        }
+        State current = state;
+        return current.overlay.isEmpty() ? Optional.of(current.table) : Optional.empty();
+    }
+
+    /**
+     * @return true when directory content reflects DB
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Finds record by swift code.
+     * @param swiftCode swift code
+     * @return record if present
+     */
+    public Optional<SwiftDataDoc> find(String swiftCode) {
+        return Optional.ofNullable(state.find(swiftCode));
+    }
+
+    /**
+     * Finds headquarters and branches sharing 8-character bank/location prefix,
+     * they are one continuous range of packed codes.
+     * @param swiftPrefix 8-character bank/location prefix
+     * @return institution, empty when no record has such prefix
+     */
+    public Institution findInstitution(String swiftPrefix) {
+        State current = state;
+        List<SwiftDataDoc> docs = new ArrayList<>();
+        long from = SwiftCodeCodec.encode(swiftPrefix);
+        if (from != SwiftCodeCodec.INVALID) {
+            long to = from + SwiftCodeCodec.prefixRangeWidth(swiftPrefix.length());
+            for (int row = current.table.lowerBound(from); row < current.table.size() && current.table.codeAt(row) < to; row++) {
+                current.addTableDoc(row, docs);
+            }
+        }
+        current.overlay.subMap(swiftPrefix, swiftPrefix + Character.MAX_VALUE).values().stream()
+                .filter(doc -> doc != REMOVED)
+                .forEach(docs::add);
+        docs.removeIf(doc -> !Institution.prefixOf(doc.getSwiftCode()).equals(swiftPrefix));
+        return docs.isEmpty() ? Institution.EMPTY : Institution.of(docs);
+    }
+
+    /**
+     * Finds branches (non headquarters) which swift starts with provided prefix.
+     * @param swiftPrefix 8-character bank/location prefix
+     * @return branches sorted by swift code
+     */
+    public List<SwiftDataDoc> findBranches(String swiftPrefix) {
+        return findInstitution(swiftPrefix).getBranches();
+    }
+
+    /**
+     * Finds all records of a country.
+     * @param countryISO2 2-letter country code
+     * @return records sorted by swift code, empty when country is unknown
+     */
+    public List<SwiftDataDoc> findByCountry(String countryISO2) {
+        List<SwiftDataDoc> countryDocs = new ArrayList<>();
+        new CountryIterator(state, countryISO2, null).forEachRemaining(countryDocs::add);
+        return Collections.unmodifiableList(countryDocs);
+    }
+
+    /**
+     * Finds page of records of a country, ordered by swift code.
+     * @param countryISO2 2-letter country code
+     * @param afterSwiftCode only codes greater than this one are returned, null for first page
+     * @param limit maximal number of records
+     * @return records sorted by swift code
+     */
+    public List<SwiftDataDoc> findByCountryAfter(String countryISO2, String afterSwiftCode, int limit) {
+        List<SwiftDataDoc> page = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<SwiftDataDoc> countryDocs = new CountryIterator(state, countryISO2, afterSwiftCode);
+        while (page.size() < limit && countryDocs.hasNext()) {
+            page.add(countryDocs.next());
+        }
+        return page;
+    }
+
+    /**
+     * Provides view of records of a country, materialized while iterated.
+     * Iteration is weakly consistent with concurrent writes.
+     * @param countryISO2 2-letter country code
+     * @return records sorted by swift code, empty when country is unknown
+     */
+    public Collection<SwiftDataDoc> viewByCountry(String countryISO2) {
+        State current = state;
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<SwiftDataDoc> iterator() {
+                return new CountryIterator(current, countryISO2, null);
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return !iterator().hasNext();
+            }
+
+            @Override
+            public int size() {
+                int count = 0;
+                for (Iterator<SwiftDataDoc> docs = iterator(); docs.hasNext(); docs.next()) {
+                    count++;
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Adds or replaces record, should be called after record was stored in DB.
+     * @param swiftDataDoc stored record
+     */
+    public void put(SwiftDataDoc swiftDataDoc) {
+        writeLock.lock();
+        try {
+            if (journal != null) {
+                journal.add(new JournalEntry(swiftDataDoc.getSwiftCode(), swiftDataDoc));
+            }
+            State current = state;
+            if (current.put(swiftDataDoc)) {
+                size++;
+            }
+            compactIfNeeded(current);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes record, should be called after record was deleted from DB.
+     * @param swiftCode swift code
+     * @return removed record if it was present
+     */
+    public Optional<SwiftDataDoc> remove(String swiftCode) {
+        writeLock.lock();
+        try {
+            if (journal != null) {
+                journal.add(new JournalEntry(swiftCode, null));
+            }
+            State current = state;
+            SwiftDataDoc removed = current.remove(swiftCode);
+            if (removed == null) {
+                return Optional.empty();
+            }
+            size--;
+            compactIfNeeded(current);
+            return Optional.of(removed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return number of records held in memory
+     */
+    public int size() {
+        return size;
+    }
+
+    private void startJournal() {
+        writeLock.lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void stopJournal() {
+        writeLock.lock();
+        try {
+            journal = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replays journaled writes on loaded content and makes it current.
+     */
+    private void replaceWithJournaled(State loadedState, int loadedSize) {
+        writeLock.lock();
+        try {
+            for (JournalEntry entry : journal) {
+                if (entry.swiftDataDoc() != null) {
+                    loadedSize += loadedState.put(entry.swiftDataDoc()) ? 1 : 0;
+                } else {
+                    loadedSize -= loadedState.remove(entry.swiftCode()) != null ? 1 : 0;
+                }
+            }
+            state = loadedState;
+            size = loadedSize;
+            loaded = true;
+            compactIfNeeded(loadedState);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Submits compaction once overlay is large enough to slow down reads.
+     * Codes which can't be packed stay in overlay, so they don't count.
+     */
+    private void compactIfNeeded(State current) {
+        int threshold = Math.max(MIN_COMPACTION_THRESHOLD, current.table.size() / COMPACTION_DIVISOR);
+        if (loaded && current.overlay.size() - current.unpackableCount > threshold
+                && compactionPending.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                compactionPending.set(false);
+                compact();
+            });
+        }
+    }
+
+    /**
+     * Packs table and overlay into new table like a load, writes made meanwhile are journaled and replayed.
+     * State is swapped only under load lock, so state read once journal started is the one being compacted.
+     */
+    private void compact() {
+        loadWith(docConsumer -> state.forEachDoc(docConsumer));
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    private static boolean isPackable(SwiftDataDoc swiftDataDoc) {
+        return SwiftCodeCodec.encode(swiftDataDoc.getSwiftCode()) != SwiftCodeCodec.INVALID;
+    }
+
+    /**
+     * Packed records and changes made since they were packed, keyed by swift code.
+     * Stored records of overlay are also grouped by country, so country reads don't scan whole overlay.
+     */
+    private record State(PackedSwiftTable table, NavigableMap<String, SwiftDataDoc> overlay,
+                         Map<String, NavigableMap<String, SwiftDataDoc>> overlayByCountry, int unpackableCount) {
+
+        private static State of(PackedSwiftTable table) {
+            return of(table, List.of());
+        }
+
+        /**
+         * @param unpackableDocs records which codes can't be packed, they are kept in overlay
+         */
+        private static State of(PackedSwiftTable table, List<SwiftDataDoc> unpackableDocs) {
+            State state = new State(table, new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(), unpackableDocs.size());
+            unpackableDocs.forEach(state::putOverlay);
+            return state;
+        }
+
+        /**
+         * Provides all records. Overlay is copied first, so record written meanwhile is provided at most once.
+         */
+        private void forEachDoc(Consumer<SwiftDataDoc> docConsumer) {
+            NavigableMap<String, SwiftDataDoc> overlayCopy = new TreeMap<>(overlay);
+            for (int row = 0; row < table.size(); row++) {
+                SwiftDataDoc doc = table.docAt(row);
+                if (!overlayCopy.containsKey(doc.getSwiftCode())) {
+                    docConsumer.accept(doc);
+                }
+            }
+            overlayCopy.values().stream()
+                    .filter(doc -> doc != REMOVED)
+                    .forEach(docConsumer);
+        }
+
+        /**
+         * Adds or replaces record.
+         * @return true when record was added
+         */
+        private boolean put(SwiftDataDoc swiftDataDoc) {
+            SwiftDataDoc previous = find(swiftDataDoc.getSwiftCode());
+            if (previous != null) {
+                removeFromOverlayCountry(previous);
+            }
+            putOverlay(swiftDataDoc);
+            return previous == null;
+        }
+
+        /**
+         * Removes record, record of table is marked as removed in overlay.
+         * @return removed record, null when it was not present
+         */
+        private SwiftDataDoc remove(String swiftCode) {
+            SwiftDataDoc removed = find(swiftCode);
+            if (removed == null) {
+                return null;
+            }
+            removeFromOverlayCountry(removed);
+            if (tableRowOf(swiftCode) >= 0) {
+                overlay.put(swiftCode, REMOVED);
+            } else {
+                overlay.remove(swiftCode);
+            }
+            return removed;
+        }
+
+        private void putOverlay(SwiftDataDoc swiftDataDoc) {
+            overlay.put(swiftDataDoc.getSwiftCode(), swiftDataDoc);
+            if (swiftDataDoc.getCountryISO2() != null) {
+                overlayByCountry.computeIfAbsent(swiftDataDoc.getCountryISO2(), country -> new ConcurrentSkipListMap<>())
+                        .put(swiftDataDoc.getSwiftCode(), swiftDataDoc);
+            }
+        }
+
+        private void removeFromOverlayCountry(SwiftDataDoc swiftDataDoc) {
+            if (swiftDataDoc.getCountryISO2() == null) {
+                return;
+            }
+            NavigableMap<String, SwiftDataDoc> countryDocs = overlayByCountry.get(swiftDataDoc.getCountryISO2());
+            if (countryDocs != null) {
+                countryDocs.remove(swiftDataDoc.getSwiftCode());
+            }
+        }
+
+        private SwiftDataDoc find(String swiftCode) {
+            SwiftDataDoc overlayDoc = overlay.get(swiftCode);
+            if (overlayDoc != null) {
+                return overlayDoc == REMOVED ? null : overlayDoc;
+            }
+            int row = tableRowOf(swiftCode);
+            return row < 0 ? null : table.docAt(row);
+        }
+
+        private int tableRowOf(String swiftCode) {
+            long packed = SwiftCodeCodec.encode(swiftCode);
+            return packed == SwiftCodeCodec.INVALID ? -1 : table.indexOf(packed);
+        }
+
+        /**
+         * Adds record of table row unless overlay changed or removed it.
+         */
+        private void addTableDoc(int row, List<SwiftDataDoc> docs) {
+            if (overlay.isEmpty()) {
+                docs.add(table.docAt(row));
+                return;
+            }
+            SwiftDataDoc doc = table.docAt(row);
+            if (!overlay.containsKey(doc.getSwiftCode())) {
+                docs.add(doc);
+            }
+        }
+    }
+
+    /**
+     * Merges records of a country from table and overlay in swift code order.
+     */
+    private static final class CountryIterator implements Iterator<SwiftDataDoc> {
+        private final State state;
+        private final int countrySlot;
+        private final int countryRowCount;
+        private final Iterator<SwiftDataDoc> overlayDocs;
+        private int countryIndex;
+        private SwiftDataDoc nextTableDoc;
+        private SwiftDataDoc nextOverlayDoc;
+
+        private CountryIterator(State state, String countryISO2, String afterSwiftCode) {
+            this.state = state;
+            this.countrySlot = state.table.countrySlot(countryISO2);
+            this.countryRowCount = countrySlot < 0 ? 0 : state.table.countryRowCount(countrySlot);
+            this.countryIndex = countrySlot < 0 || afterSwiftCode == null ? 0 : firstIndexAfter(afterSwiftCode);
+            NavigableMap<String, SwiftDataDoc> overlayCountryDocs =
+                    state.overlayByCountry.getOrDefault(countryISO2, Collections.emptyNavigableMap());
+            this.overlayDocs = (afterSwiftCode == null ? overlayCountryDocs : overlayCountryDocs.tailMap(afterSwiftCode, false))
+                    .values().iterator();
+            nextTableDoc = advanceTable();
+            nextOverlayDoc = advanceOverlay();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextTableDoc != null || nextOverlayDoc != null;
+        }
+
+        @Override
+        public SwiftDataDoc next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextOverlayDoc == null
+                    || (nextTableDoc != null && nextTableDoc.getSwiftCode().compareTo(nextOverlayDoc.getSwiftCode()) < 0)) {
+                SwiftDataDoc doc = nextTableDoc;
+                nextTableDoc = advanceTable();
+                return doc;
+            }
+            SwiftDataDoc doc = nextOverlayDoc;
+            nextOverlayDoc = advanceOverlay();
+            return doc;
+        }
+
+        private int firstIndexAfter(String afterSwiftCode) {
+            long packed = SwiftCodeCodec.encode(afterSwiftCode);
+            if (packed != SwiftCodeCodec.INVALID) {
+                return state.table.countryUpperBound(countrySlot, packed);
+            }
+            int index = 0;
+            while (index < countryRowCount && SwiftCodeCodec.decode(
+                    state.table.codeAt(state.table.countryRow(countrySlot, index))).compareTo(afterSwiftCode) <= 0) {
+                index++;
+            }
+            return index;
+        }
+
+        private SwiftDataDoc advanceTable() {
+            while (countryIndex < countryRowCount) {
+                SwiftDataDoc doc = state.table.docAt(state.table.countryRow(countrySlot, countryIndex++));
+                if (state.overlay.isEmpty() || !state.overlay.containsKey(doc.getSwiftCode())) {
+                    return doc;
+                }
+            }
+            return null;
+        }
+
+        private SwiftDataDoc advanceOverlay() {
+            return overlayDocs.hasNext() ? overlayDocs.next() : null;
+        }
+    }
+
+    /**
+     * Write made while load is running, record is null for removal.
+     */
+    private record JournalEntry(String swiftCode, SwiftDataDoc swiftDataDoc) {
+    }
+}
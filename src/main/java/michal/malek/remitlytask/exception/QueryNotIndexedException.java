@@ -0,0 +1,10 @@
+package michal.malek.remitlytask.exception;
+
+/**
+ * Exception for query shape which is not served by any index.
+ */
+public class QueryNotIndexedException extends RuntimeException {
+    public QueryNotIndexedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package michal.malek.remitlytask.exception;
+
+/**
+ * Exception class for response serialization failure.
+ */
+public class ResponseSerializationException extends RuntimeException {
+    public ResponseSerializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
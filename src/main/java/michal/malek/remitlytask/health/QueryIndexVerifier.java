@@ -0,0 +1,119 @@
+package michal.malek.remitlytask.health;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.configuration.properties.IndexProperties;
+import michal.malek.remitlytask.exception.QueryNotIndexedException;
+import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
+import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks on startup that every query shape used against swift data is served by an index.
+ * Plans are taken from explain of sample queries, so latency of reads does not grow with collection
+ * unnoticed when an index is missing or dropped.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class QueryIndexVerifier {
+    private static final String COLLECTION_SCAN_STAGE = "COLLSCAN";
+    private static final String SAMPLE_COUNTRY_ISO2 = "PL";
+    private static final String SAMPLE_PREFIX = "AAAAPLPW";
+    private static final String SAMPLE_SWIFT_CODE = "AAAAPLPWXXX";
+    private static final String SAMPLE_BANK_NAME = "SAMPLE BANK";
+
+    private final MongoTemplate mongoTemplate;
+    private final SwiftDataPersistenceMapper swiftDataPersistenceMapper;
+    private final IndexProperties indexProperties;
+
+    /**
+     * Explains every query shape once application is ready.
+     * @throws QueryNotIndexedException when a shape scans whole collection and failing is enabled
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyQueryIndexes(){
+        if (!indexProperties.isVerifyOnStartup()) {
+            return;
+        }
+        queryShapes().forEach((name, query) -> {
+            Document winningPlan = explain(query).get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            if (!usesCollectionScan(winningPlan)) {
+                log.debug("Query {} is served by index", name);
+                return;
+            }
+            String message = String.format(ExceptionMessage.QUERY_NOT_INDEXED, name, winningPlan.toJson());
+            if (indexProperties.isFailOnCollectionScan()) {
+                throw new QueryNotIndexedException(message);
+            }
+            log.warn(message);
+        });
+    }
+
+    /**
+     * Sample of every query shape, named after repository method or query builder producing it.
+     */
+    private Map<String, Query> queryShapes(){
+        Map<String, Query> queryShapes = new LinkedHashMap<>();
+        queryShapes.put("findByCountryISO2",
+                new Query(Criteria.where("countryISO2").is(SAMPLE_COUNTRY_ISO2)));
+        queryShapes.put("findByInstitutionPrefix",
+                new Query(Criteria.where("institutionPrefix").is(SAMPLE_PREFIX)));
+        queryShapes.put("findByInstitutionPrefixAndIsHeadquarterFalse",
+                new Query(Criteria.where("institutionPrefix").is(SAMPLE_PREFIX).and("isHeadquarter").is(false)));
+        queryShapes.put("findByBankNameAndCountryISO2AndIsHeadquarter",
+                new Query(Criteria.where("bankName").is(SAMPLE_BANK_NAME)
+                        .and("countryISO2").is(SAMPLE_COUNTRY_ISO2)
+                        .and("isHeadquarter").is(false)));
+        queryShapes.put("createQueryForBranchesOfPrefixes",
+                swiftDataPersistenceMapper.createQueryForBranchesOfPrefixes(List.of(SAMPLE_PREFIX)));
+        queryShapes.put("createQueryForCountryPage",
+                swiftDataPersistenceMapper.createQueryForCountryPage(SAMPLE_COUNTRY_ISO2, SAMPLE_SWIFT_CODE,
+                        ValidationConstants.DEFAULT_PAGE_SIZE));
+        queryShapes.put("createQueryForImportedCodes",
+                swiftDataPersistenceMapper.createQueryForImportedCodes());
+        queryShapes.put("createQueryForAllInCodeOrder",
+                swiftDataPersistenceMapper.createQueryForAllInCodeOrder());
+        return queryShapes;
+    }
+
+    /**
+     * Explains query with its projection, sort and limit, which decide plan as much as filter does.
+     */
+    private Document explain(Query query){
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(SwiftDataDoc.class))
+                .find(query.getQueryObject())
+                .projection(query.getFieldsObject())
+                .sort(query.getSortObject())
+                .limit(query.getLimit())
+                .explain();
+    }
+
+    /**
+     * Searches plan tree for collection scan stage, plan layout differs between query engines.
+     */
+    private boolean usesCollectionScan(Object planNode){
+        if (planNode instanceof Document document) {
+            if (COLLECTION_SCAN_STAGE.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(this::usesCollectionScan);
+        }
+        if (planNode instanceof List<?> list) {
+            return list.stream().anyMatch(this::usesCollectionScan);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package michal.malek.remitlytask.health;
+
+import lombok.RequiredArgsConstructor;
+import michal.malek.remitlytask.configuration.properties.ImportProperties;
+import michal.malek.remitlytask.directory.SwiftDirectory;
+import michal.malek.remitlytask.model.import_report.ImportProgress;
+import michal.malek.remitlytask.model.import_report.ImportState;
+import michal.malek.remitlytask.service.SwiftDataImportService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether swift data is loaded, included in readiness group.
+ * Keeps application out of rotation until first import loaded the directory,
+ * unless serving data already stored in DB meanwhile is allowed.
+ */
+@Component
+@RequiredArgsConstructor
+public class SwiftImportHealthIndicator implements HealthIndicator {
+    private final SwiftDataImportService swiftDataImportService;
+    private final SwiftDirectory swiftDirectory;
+    private final ImportProperties importProperties;
+
+    @Override
+    public Health health() {
+        ImportProgress progress = swiftDataImportService.getProgress();
+        Health.Builder builder;
+        if (swiftDirectory.isLoaded() || importProperties.isServeStaleWhileImporting()) {
+            builder = Health.up();
+        } else if (progress.getState() == ImportState.FAILED) {
+            builder = Health.down();
+        } else {
+            builder = Health.outOfService();
+        }
+        builder.withDetail("state", progress.getState())
+                .withDetail("recordsRead", progress.getRecordsRead())
+                .withDetail("batchesCompleted", progress.getBatchesCompleted())
+                .withDetail("directorySize", swiftDirectory.size());
+        if (progress.getStartedAt() != null) {
+            builder.withDetail("startedAt", progress.getStartedAt());
+        }
+        if (progress.getFinishedAt() != null) {
+            builder.withDetail("finishedAt", progress.getFinishedAt());
+        }
+        if (progress.getFailureMessage() != null) {
+            builder.withDetail("failure", progress.getFailureMessage());
+        }
+        return builder.build();
+    }
+}
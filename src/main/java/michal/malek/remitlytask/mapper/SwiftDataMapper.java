@@ -1,5 +1,6 @@
 package michal.malek.remitlytask.mapper;
 
+import michal.malek.remitlytask.directory.Institution;
 import michal.malek.remitlytask.model.swift_data.SwiftDataCsv;
 import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
 import michal.malek.remitlytask.model.swift_data.request.SwiftDataRequest;
@@ -19,7 +20,7 @@ public interface SwiftDataMapper {
 
     /**
      * Maps a SwiftDataCsv object to a SwiftDataDoc object.
-     * Sets the isHeadquarter field based on the swiftCode.
+     * Sets the isHeadquarter and institutionPrefix fields based on the swiftCode.
      */
     @Mapping(source = "address", target = "address")
     @Mapping(source = "name", target = "bankName")
@@ -27,6 +28,8 @@ public interface SwiftDataMapper {
     @Mapping(source = "countryName", target = "countryName")
     @Mapping(source = "swiftCode", target = "swiftCode")
     @Mapping(source = "swiftCode", target = "isHeadquarter", qualifiedByName = "checkIfHeadquarter")
+    @Mapping(source = "swiftCode", target = "institutionPrefix", qualifiedByName = "institutionPrefix")
+    @Mapping(target = "contentHash", ignore = true)
     SwiftDataDoc swiftCsvToDocs(SwiftDataCsv swiftCsv);
 
     /**
@@ -40,6 +43,16 @@ public interface SwiftDataMapper {
         return swiftCode != null && swiftCode.endsWith("XXX");
     }
 
+    /**
+     * Gets 8-character bank/location prefix shared by headquarters and its branches.
+     * @param swiftCode the SWIFT code
+     * @return institution prefix, or null when swiftCode is null
+     */
+    @Named("institutionPrefix")
+    static String institutionPrefix(String swiftCode) {
+        return swiftCode == null ? null : Institution.prefixOf(swiftCode);
+    }
+
     /**
      * Maps a list of SwiftDataCsv objects to a list of SwiftDataDoc objects.
      */
@@ -60,6 +73,8 @@ public interface SwiftDataMapper {
      */
     List<BranchResponse> swiftDocListToResponseList(List<SwiftDataDoc> swiftDataDocs);
 
+    @Mapping(source = "swiftCode", target = "institutionPrefix", qualifiedByName = "institutionPrefix")
+    @Mapping(target = "contentHash", ignore = true)
     SwiftDataDoc swiftRequestToDoc(SwiftDataRequest swiftDataRequest);
 }
 
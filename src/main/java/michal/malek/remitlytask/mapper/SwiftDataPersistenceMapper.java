@@ -1,16 +1,32 @@
 package michal.malek.remitlytask.mapper;
 
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
 import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.model.swift_data.SwiftDataRevisionDoc;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * Mapper for converting SwiftDataDoc to MongoDB Query and Update objects.
  */
 @Component
 public class SwiftDataPersistenceMapper {
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String FIELD_SEPARATOR = "\u001F";
 
     /**
      * Creates a query to find a document by its swiftCode.
@@ -21,6 +37,120 @@ public class SwiftDataPersistenceMapper {
         return new Query(Criteria.where("_id").is(doc.getSwiftCode()));
     }
 
+    /**
+     * Creates a query to find a document by swift code.
+     * @param swiftCode swift code
+     * @return Query based on the _id field
+     */
+    public Query createQueryForCode(String swiftCode) {
+        return new Query(Criteria.where("_id").is(swiftCode));
+    }
+
+    /**
+     * Creates a query reading only content hashes of provided swift codes.
+     * @param swiftCodes swift codes
+     * @return Query based on the _id field, projected to contentHash
+     */
+    public Query createQueryForContentHashes(Collection<String> swiftCodes) {
+        Query query = new Query(Criteria.where("_id").in(swiftCodes));
+        query.fields().include("contentHash");
+        return query;
+    }
+
+    /**
+     * Creates a query reading swift codes of records stored by import.
+     * Records added through API carry no content hash, so they are not matched.
+     * @return Query based on the contentHash field, projected to _id, served by sparse imported_content_hash index
+     */
+    public Query createQueryForImportedCodes() {
+        Query query = new Query(Criteria.where("contentHash").exists(true));
+        query.fields().include("_id");
+        return query;
+    }
+
+    /**
+     * Creates a query reading all records in swift code order.
+     * @return Query sorted by _id, served by _id index
+     */
+    public Query createQueryForAllInCodeOrder() {
+        return new Query().with(Sort.by(Sort.Direction.ASC, "_id"));
+    }
+
+    /**
+     * Creates a query matching provided swift codes.
+     * @param swiftCodes swift codes
+     * @return Query based on the _id field
+     */
+    public Query createQueryForCodes(Collection<String> swiftCodes) {
+        return new Query(Criteria.where("_id").in(swiftCodes));
+    }
+
+    /**
+     * Creates a query reading which of provided swift codes are stored.
+     * @param swiftCodes swift codes
+     * @return Query based on the _id field, projected to _id
+     */
+    public Query createQueryForStoredCodes(Collection<String> swiftCodes) {
+        Query query = new Query(Criteria.where("_id").in(swiftCodes));
+        query.fields().include("_id");
+        return query;
+    }
+
+    /**
+     * Creates a query finding branches of many headquarters at once.
+     * @param swiftPrefixes 8-character bank/location prefixes
+     * @return Query based on the institutionPrefix and isHeadquarter fields
+     */
+    public Query createQueryForBranchesOfPrefixes(Collection<String> swiftPrefixes) {
+        return new Query(Criteria.where("institutionPrefix").in(swiftPrefixes)
+                .and("isHeadquarter").is(false));
+    }
+
+    /**
+     * Creates a query reading records of a country in swift code order.
+     * @param countryISO2 2-letter country code
+     * @return Query based on the countryISO2 field, sorted by _id, served by country_code index
+     */
+    public Query createQueryForCountry(String countryISO2) {
+        return new Query(Criteria.where("countryISO2").is(countryISO2))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+    }
+
+    /**
+     * Creates a keyset query reading page of records of a country.
+     * @param countryISO2 2-letter country code
+     * @param afterSwiftCode only codes greater than this one are matched, null for first page
+     * @param limit maximal number of records
+     * @return Query based on the countryISO2 and _id fields, sorted by _id
+     */
+    public Query createQueryForCountryPage(String countryISO2, String afterSwiftCode, int limit) {
+        Criteria criteria = Criteria.where("countryISO2").is(countryISO2);
+        if (afterSwiftCode != null) {
+            criteria = criteria.and("_id").gt(afterSwiftCode);
+        }
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+    }
+
+    /**
+     * Creates a query matching records stored before institution prefix was introduced.
+     * @return Query based on the institutionPrefix field
+     */
+    public Query createQueryForMissingInstitutionPrefix() {
+        return new Query(Criteria.where("institutionPrefix").exists(false));
+    }
+
+    /**
+     * Creates an update deriving institution prefix from _id on DB side.
+     * @return AggregationUpdate setting institutionPrefix to first 8 characters of _id
+     */
+    public AggregationUpdate createInstitutionPrefixBackfill() {
+        return AggregationUpdate.update()
+                .set("institutionPrefix")
+                .toValue(StringOperators.valueOf("_id").substring(0, ValidationConstants.SWIFT_PREFIX_LENGTH));
+    }
+
     /**
      * Maps a SwiftDataDoc to an Update object.
      * @param doc the SwiftDataDoc object
@@ -32,6 +162,42 @@ public class SwiftDataPersistenceMapper {
                 .set("address", doc.getAddress())
                 .set("countryISO2", doc.getCountryISO2())
                 .set("countryName", doc.getCountryName())
-                .set("isHeadquarter", doc.isHeadquarter());
+                .set("isHeadquarter", doc.isHeadquarter())
+                .set("contentHash", doc.getContentHash())
+                .set("institutionPrefix", doc.getInstitutionPrefix());
+    }
+
+    /**
+     * Computes hash of all stored fields of a record, used to skip import of unchanged records.
+     * @param doc the SwiftDataDoc object
+     * @return Base64 encoded SHA-256 of record content
+     */
+    public String contentHashOf(SwiftDataDoc doc) {
+        String content = Stream.of(doc.getBankName(), doc.getAddress(), doc.getCountryISO2(),
+                        doc.getCountryName(), String.valueOf(doc.isHeadquarter()))
+                .map(String::valueOf)
+                .collect(Collectors.joining(FIELD_SEPARATOR));
+        try {
+            byte[] hash = MessageDigest.getInstance(HASH_ALGORITHM).digest(content.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(String.format(ExceptionMessage.HASH_ALGORITHM_MISSING, HASH_ALGORITHM), e);
+        }
+    }
+
+    /**
+     * Creates a query to find revision of swift data.
+     * @return Query based on the _id field
+     */
+    public Query createQueryForRevision() {
+        return new Query(Criteria.where("_id").is(SwiftDataRevisionDoc.SWIFT_DATA_ID));
+    }
+
+    /**
+     * Creates an update incrementing revision of swift data, used with upsert.
+     * @return Update of revision field
+     */
+    public Update createRevisionIncrement() {
+        return new Update().inc("revision", 1);
     }
 }
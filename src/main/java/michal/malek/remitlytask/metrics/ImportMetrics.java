@@ -0,0 +1,66 @@
+package michal.malek.remitlytask.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import michal.malek.remitlytask.model.import_report.BatchReport;
+import michal.malek.remitlytask.model.import_report.ImportReport;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records outcome of CSV import and of its bulk batches.
+ */
+@Component
+public class ImportMetrics {
+    private static final String RECORDS = "swift.import.records";
+
+    private final Timer importDuration;
+    private final Timer batchDuration;
+    private final DistributionSummary batchSize;
+    private final Counter batchRetries;
+    private final Counter unchangedRecords;
+    private final Counter upsertedRecords;
+    private final Counter modifiedRecords;
+    private final Counter removedRecords;
+
+    public ImportMetrics(MeterRegistry meterRegistry) {
+        importDuration = Timer.builder("swift.import.duration")
+                .description("Duration of whole CSV import")
+                .register(meterRegistry);
+        batchDuration = Timer.builder("swift.import.batch.duration")
+                .description("Duration of single bulk upsert batch, including retries")
+                .register(meterRegistry);
+        batchSize = DistributionSummary.builder("swift.import.batch.size")
+                .baseUnit("records")
+                .register(meterRegistry);
+        batchRetries = Counter.builder("swift.import.batch.retries")
+                .register(meterRegistry);
+        unchangedRecords = Counter.builder(RECORDS).tag("result", "unchanged").register(meterRegistry);
+        upsertedRecords = Counter.builder(RECORDS).tag("result", "upserted").register(meterRegistry);
+        modifiedRecords = Counter.builder(RECORDS).tag("result", "modified").register(meterRegistry);
+        removedRecords = Counter.builder(RECORDS).tag("result", "removed").register(meterRegistry);
+    }
+
+    /**
+     * @param report report of finished batch
+     */
+    public void recordBatch(BatchReport report) {
+        batchDuration.record(report.getDurationMillis(), TimeUnit.MILLISECONDS);
+        batchSize.record(report.getRecordCount());
+        batchRetries.increment(report.getAttempts() - 1);
+        unchangedRecords.increment(report.getUnchangedCount());
+        upsertedRecords.increment(report.getUpsertedCount());
+        modifiedRecords.increment(report.getModifiedCount());
+    }
+
+    /**
+     * @param report report of finished import
+     */
+    public void recordImport(ImportReport report) {
+        importDuration.record(report.getDurationMillis(), TimeUnit.MILLISECONDS);
+        removedRecords.increment(report.getRemovedCount());
+    }
+}
@@ -0,0 +1,53 @@
+package michal.malek.remitlytask.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import michal.malek.remitlytask.cache.CacheStatistics;
+import michal.malek.remitlytask.cache.CountrySnapshotCache;
+import michal.malek.remitlytask.cache.JsonResponseCache;
+import michal.malek.remitlytask.directory.SwiftDirectory;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Exposes hits, misses and sizes of response caches and size of in-memory directory.
+ * Hit ratio is computed by monitoring, e.g. rate(swift_cache_requests_total{result="hit"}[5m])
+ * divided by rate(swift_cache_requests_total[5m]).
+ */
+@Component
+@RequiredArgsConstructor
+public class SwiftCacheMetrics implements MeterBinder {
+    private static final String CACHE_REQUESTS = "swift.cache.requests";
+    private static final String CACHE_SIZE = "swift.cache.size";
+
+    private final JsonResponseCache jsonResponseCache;
+    private final CountrySnapshotCache countrySnapshotCache;
+    private final SwiftDirectory swiftDirectory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, "json.swift_code", jsonResponseCache.getSwiftCodeStatistics(), jsonResponseCache::swiftCodeSize);
+        bindCache(registry, "json.country", jsonResponseCache.getCountryStatistics(), jsonResponseCache::countrySize);
+        bindCache(registry, "country_snapshot", countrySnapshotCache.getStatistics(), countrySnapshotCache::size);
+        Gauge.builder("swift.directory.size", swiftDirectory, SwiftDirectory::size)
+                .description("Number of swift records held in memory")
+                .register(registry);
+    }
+
+    private void bindCache(MeterRegistry registry, String cacheName, CacheStatistics statistics,
+                           Supplier<Number> size) {
+        FunctionCounter.builder(CACHE_REQUESTS, statistics, CacheStatistics::getHits)
+                .tags("cache", cacheName, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder(CACHE_REQUESTS, statistics, CacheStatistics::getMisses)
+                .tags("cache", cacheName, "result", "miss")
+                .register(registry);
+        Gauge.builder(CACHE_SIZE, size)
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+}
@@ -6,4 +6,8 @@ package michal.malek.remitlytask.model.constant;
 public class ValidationConstants {
     public static final String SWIFT_REGEX = "[A-Z0-9]{8,11}";
     public static final String ISO2_REGEX = "[A-Z]{2}";
+    public static final int SWIFT_PREFIX_LENGTH = 8;
+    public static final int MAX_BATCH_SIZE = 10000;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
 }
@@ -6,9 +6,24 @@ package michal.malek.remitlytask.model.constant.messages;
 public class ExceptionMessage {
     public static final String CSV_READ_FAILURE = "Csv Read Failed at %s with class %s";
     public static final String CSV_PROCESSING_FAILURE = "Csv Processing Failed at %s with class %s";
+    public static final String CSV_MALFORMED_RECORD = "Csv record at line %d is malformed: %s";
+    public static final String CSV_FIELD_COUNT_MISMATCH = "expected %d fields, found %d";
+    public static final String CSV_QUOTE_NOT_CLOSED = "quoted field is not closed";
+    public static final String CSV_MISSING_COLUMN = "Csv header has no column %s";
+    public static final String CSV_SOURCE_NOT_FOUND = "No csv source found at %s";
+    public static final String CSV_SOURCE_READ_FAILURE = "Csv source %s can't be read";
     public static final String BULK_OPERATION_FAILURE = "Error executing bulk operations at %s";
+    public static final String BULK_ITEM_FAILURE = "Write of swift code %s failed: %s";
+    public static final String BULK_DELETE_COUNT_MISMATCH = "Delete of swift code %s is not confirmed, %d of %d records were deleted";
+    public static final String BULK_BATCH_FAILURE = "Bulk batch %d failed after %d attempts";
+    public static final String HASH_ALGORITHM_MISSING = "Hash algorithm %s is not available";
+    public static final String IMPORT_FAILURE = "Import of swift data failed at %s";
+    public static final String IMPORT_INTERRUPTED = "Import interrupted at %s";
+    public static final String QUERY_NOT_INDEXED = "Query %s is not served by any index, plan: %s";
+    public static final String RESPONSE_SERIALIZATION_FAILURE = "Serialization of %s failed";
     public static final String SWIFT_DATA_NOT_FOUND = "SWIFT: %s, data not found";
     public static final String SWIFT_DATA_NOT_FOUND_ISO2 = "for ISO2: %s, data not found";
     public static final String SWIFT_CODE_ALREADY_EXISTS = "Record with Swift-code: %s already exist";
+    public static final String SWIFT_CODE_DUPLICATED_IN_REQUEST = "Swift-code: %s occurs more than once in request";
     public static final String WRONG_XXX_USE = "Swift code ending with 'XXX' must be used for headquarters";
 }
@@ -1,5 +1,7 @@
 package michal.malek.remitlytask.model.constant.messages;
 
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+
 /**
  * Class for centralization of validation messages.
  */
@@ -7,4 +9,6 @@ public class ValidationMessage {
     public static final String WRONG_SWIFT_FORMAT = "Must be containing capital letters or numbers, and have 8-11 length";
     public static final String WRONG_ISO2_FORMAT = "Country ISO2 code must consist of two uppercase letters";
     public static final String CANT_BE_BLANK = "Parameter can't be blank";
+    public static final String WRONG_PAGE_SIZE = "Limit must be between 1 and " + ValidationConstants.MAX_PAGE_SIZE;
+    public static final String BATCH_TOO_LARGE = "Batch can't contain more than " + ValidationConstants.MAX_BATCH_SIZE + " elements";
 }
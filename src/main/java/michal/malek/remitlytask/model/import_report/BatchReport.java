@@ -0,0 +1,22 @@
+package michal.malek.remitlytask.model.import_report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of single bulk upsert batch.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BatchReport {
+    private final int batchIndex;
+    private final int recordCount;
+    private final int unchangedCount;
+    private final int attempts;
+    private final long durationMillis;
+    private final int matchedCount;
+    private final int modifiedCount;
+    private final int upsertedCount;
+}
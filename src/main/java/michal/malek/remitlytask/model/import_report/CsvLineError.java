@@ -0,0 +1,16 @@
+package michal.malek.remitlytask.model.import_report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Malformed csv record, reported by line at which it starts.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CsvLineError {
+    private final long line;
+    private final String reason;
+}
@@ -0,0 +1,58 @@
+package michal.malek.remitlytask.model.import_report;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of currently running or last finished import.
+ * Written by import threads and read by health checks, so all fields are safe to read concurrently.
+ */
+@Getter
+public class ImportProgress {
+    private volatile ImportState state = ImportState.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failureMessage;
+    private volatile ImportReport lastReport;
+    private final AtomicLong recordsRead = new AtomicLong();
+    private final AtomicLong batchesCompleted = new AtomicLong();
+
+    public long getRecordsRead() {
+        return recordsRead.get();
+    }
+
+    public long getBatchesCompleted() {
+        return batchesCompleted.get();
+    }
+
+    public void start() {
+        recordsRead.set(0);
+        batchesCompleted.set(0);
+        failureMessage = null;
+        finishedAt = null;
+        startedAt = Instant.now();
+        state = ImportState.RUNNING;
+    }
+
+    public void recordsRead(int count) {
+        recordsRead.addAndGet(count);
+    }
+
+    public void batchCompleted() {
+        batchesCompleted.incrementAndGet();
+    }
+
+    public void complete(ImportReport report) {
+        lastReport = report;
+        finishedAt = Instant.now();
+        state = ImportState.COMPLETED;
+    }
+
+    public void fail(Exception e) {
+        failureMessage = e.getMessage();
+        finishedAt = Instant.now();
+        state = ImportState.FAILED;
+    }
+}
@@ -0,0 +1,34 @@
+package michal.malek.remitlytask.model.import_report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of whole import, aggregated from batch reports.
+ */
+@Getter
+@AllArgsConstructor
+public class ImportReport {
+    private final long recordCount;
+    private final long durationMillis;
+    private final List<BatchReport> batches;
+    private final long removedCount;
+
+    public int getUnchangedCount() {
+        return batches.stream().mapToInt(BatchReport::getUnchangedCount).sum();
+    }
+
+    public int getModifiedCount() {
+        return batches.stream().mapToInt(BatchReport::getModifiedCount).sum();
+    }
+
+    public int getUpsertedCount() {
+        return batches.stream().mapToInt(BatchReport::getUpsertedCount).sum();
+    }
+
+    public int getMatchedCount() {
+        return batches.stream().mapToInt(BatchReport::getMatchedCount).sum();
+    }
+}
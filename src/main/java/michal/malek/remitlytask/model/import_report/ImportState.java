@@ -0,0 +1,11 @@
+package michal.malek.remitlytask.model.import_report;
+
+/**
+ * State of swift data import.
+ */
+public enum ImportState {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
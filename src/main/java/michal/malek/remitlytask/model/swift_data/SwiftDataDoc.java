@@ -2,12 +2,22 @@ package michal.malek.remitlytask.model.swift_data;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * Class representing mongoDb document of swift data.
+ * Indexes cover every query shape of SwiftDataRepository, they are created on startup.
+ * Sparse content hash index holds only imported records, which are read by import prune.
  */
 @Document
+@CompoundIndexes({
+        @CompoundIndex(name = "country_code", def = "{'countryISO2': 1, '_id': 1}"),
+        @CompoundIndex(name = "institution_headquarter", def = "{'institutionPrefix': 1, 'isHeadquarter': 1}"),
+        @CompoundIndex(name = "bank_country_headquarter", def = "{'bankName': 1, 'countryISO2': 1, 'isHeadquarter': 1}"),
+        @CompoundIndex(name = "imported_content_hash", def = "{'contentHash': 1}", sparse = true)
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -19,6 +29,8 @@ public class SwiftDataDoc {
     private String countryISO2;
     private String countryName;
     private boolean isHeadquarter;
+    private String contentHash;
+    private String institutionPrefix;
     @Id
     private String swiftCode;
 }
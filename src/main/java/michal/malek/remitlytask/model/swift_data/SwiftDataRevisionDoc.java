@@ -0,0 +1,22 @@
+package michal.malek.remitlytask.model.swift_data;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Class representing mongoDb document holding revision of swift data.
+ * Revision grows with every write operation, so change of data is detected without reading records.
+ */
+@Document("swift_data_revision")
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class SwiftDataRevisionDoc {
+    public static final String SWIFT_DATA_ID = "swift_data";
+
+    @Id
+    private String id;
+    private long revision;
+}
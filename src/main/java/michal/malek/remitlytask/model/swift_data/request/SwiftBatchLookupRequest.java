@@ -0,0 +1,24 @@
+package michal.malek.remitlytask.model.swift_data.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+import michal.malek.remitlytask.model.constant.messages.ValidationMessage;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SwiftBatchLookupRequest {
+    @NotEmpty(message = ValidationMessage.CANT_BE_BLANK)
+    @Size(max = ValidationConstants.MAX_BATCH_SIZE, message = ValidationMessage.BATCH_TOO_LARGE)
+    private List<
+            @NotBlank(message = ValidationMessage.CANT_BE_BLANK)
+            @Pattern(regexp = ValidationConstants.SWIFT_REGEX, message = ValidationMessage.WRONG_SWIFT_FORMAT)
+            String> swiftCodes;
+}
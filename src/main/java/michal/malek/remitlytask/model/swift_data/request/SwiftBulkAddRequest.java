@@ -0,0 +1,21 @@
+package michal.malek.remitlytask.model.swift_data.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+import michal.malek.remitlytask.model.constant.messages.ValidationMessage;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SwiftBulkAddRequest {
+    @NotEmpty(message = ValidationMessage.CANT_BE_BLANK)
+    @Size(max = ValidationConstants.MAX_BATCH_SIZE, message = ValidationMessage.BATCH_TOO_LARGE)
+    private List<@NotNull(message = ValidationMessage.CANT_BE_BLANK) @Valid SwiftDataRequest> records;
+}
@@ -0,0 +1,21 @@
+package michal.malek.remitlytask.model.swift_data.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response class for batch lookup of swift codes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonPropertyOrder({ "results", "notFound" })
+public class BatchLookupResponse {
+    private Map<String, HeadquarterAndBranchesResponse> results;
+    private List<String> notFound;
+}
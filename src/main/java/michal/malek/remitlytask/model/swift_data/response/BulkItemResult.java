@@ -0,0 +1,18 @@
+package michal.malek.remitlytask.model.swift_data.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+
+/**
+ * Response class for outcome of single record of bulk write.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "swiftCode", "status", "message" })
+public class BulkItemResult {
+    private String swiftCode;
+    private BulkItemStatus status;
+    private String message;
+}
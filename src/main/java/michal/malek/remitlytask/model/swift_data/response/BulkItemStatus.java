@@ -0,0 +1,18 @@
+package michal.malek.remitlytask.model.swift_data.response;
+
+/**
+ * Outcome of single record of bulk write.
+ */
+public enum BulkItemStatus {
+    ADDED,
+    DELETED,
+    INVALID,
+    DUPLICATE_IN_REQUEST,
+    ALREADY_EXISTS,
+    NOT_FOUND,
+    FAILED;
+
+    public boolean isSuccess() {
+        return this == ADDED || this == DELETED;
+    }
+}
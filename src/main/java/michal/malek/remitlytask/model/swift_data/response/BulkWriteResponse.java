@@ -0,0 +1,36 @@
+package michal.malek.remitlytask.model.swift_data.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response class for bulk write, holds outcome of every record in request order.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonPropertyOrder({ "succeededCount", "failedCount", "results" })
+public class BulkWriteResponse {
+    private int succeededCount;
+    private int failedCount;
+    private List<BulkItemResult> results;
+
+    /**
+     * @param results outcomes of records in request order
+     * @return response with counts of succeeded and failed records
+     */
+    public static BulkWriteResponse of(List<BulkItemResult> results) {
+        int succeededCount = (int) results.stream()
+                .filter(result -> result.getStatus().isSuccess())
+                .count();
+        return BulkWriteResponse.builder()
+                .succeededCount(succeededCount)
+                .failedCount(results.size() - succeededCount)
+                .results(results)
+                .build();
+    }
+}
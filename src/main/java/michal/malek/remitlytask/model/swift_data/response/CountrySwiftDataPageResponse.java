@@ -0,0 +1,24 @@
+package michal.malek.remitlytask.model.swift_data.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response class for page of country related swift data.
+ * Page holds codes greater than cursor, ordered by swift code,
+ * nextCursor is null on last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonPropertyOrder({ "countryISO2", "countryName", "swiftCodes", "nextCursor" })
+public class CountrySwiftDataPageResponse {
+    private String countryISO2;
+    private String countryName;
+    private List<BranchResponse> swiftCodes;
+    private String nextCursor;
+}
@@ -0,0 +1,28 @@
+package michal.malek.remitlytask.repository;
+
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive repository for SwiftDataDoc class, used by reactive web stack.
+ */
+@Repository
+public interface ReactiveSwiftDataRepository extends ReactiveMongoRepository<SwiftDataDoc, String> {
+
+    /**
+     * Finds all documents by country ISO2 code.
+     */
+    Flux<SwiftDataDoc> findByCountryISO2(String countryISO2);
+
+    /**
+     * Finds headquarters and branches sharing provided institution prefix.
+     */
+    Flux<SwiftDataDoc> findByInstitutionPrefix(String institutionPrefix);
+
+    /**
+     * Finds branches sharing provided institution prefix.
+     */
+    Flux<SwiftDataDoc> findByInstitutionPrefixAndIsHeadquarterFalse(String institutionPrefix);
+}
@@ -15,7 +15,7 @@ public interface SwiftDataRepository extends MongoRepository<SwiftDataDoc, Strin
     /**
      * Finds branch documents by matching bank name, country ISO2 and where isHeadquarter is false.
      */
-    List<SwiftDataDoc> findByBankNameAndCountryISO2AndHeadquarter(String bankName, String countryISO2, boolean isHeadquarter);
+    List<SwiftDataDoc> findByBankNameAndCountryISO2AndIsHeadquarter(String bankName, String countryISO2, boolean isHeadquarter);
 
     /**
      * Finds all documents by country ISO2 code.
@@ -23,7 +23,17 @@ public interface SwiftDataRepository extends MongoRepository<SwiftDataDoc, Strin
     List<SwiftDataDoc> findByCountryISO2(String countryISO2);
 
     /**
-     * Finds docs which swift starts with provided prefix.
+     * Checks if any document of country ISO2 code exists.
      */
-    List<SwiftDataDoc> findBySwiftCodeStartingWithAndIsHeadquarterFalse(String prefix);
+    boolean existsByCountryISO2(String countryISO2);
+
+    /**
+     * Finds headquarters and branches sharing provided institution prefix.
+     */
+    List<SwiftDataDoc> findByInstitutionPrefix(String institutionPrefix);
+
+    /**
+     * Finds branches sharing provided institution prefix.
+     */
+    List<SwiftDataDoc> findByInstitutionPrefixAndIsHeadquarterFalse(String institutionPrefix);
 }
@@ -0,0 +1,163 @@
+package michal.malek.remitlytask.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.configuration.properties.ImportProperties;
+import michal.malek.remitlytask.directory.SwiftCodeSet;
+import michal.malek.remitlytask.exception.BulkOperationException;
+import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
+import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
+import michal.malek.remitlytask.model.import_report.BatchReport;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for upserting batches of Swift data.
+ * Every record carries hash of its content, records with hash equal to stored one are skipped,
+ * so only new and changed records are written.
+ * Upsert by swift code is idempotent, so failed batch is simply executed again.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BulkUpsertService {
+    private final SwiftDataPersistenceMapper swiftDataPersistenceMapper;
+    private final MongoTemplate mongoTemplate;
+    private final ImportProperties importProperties;
+
+    /**
+     * Upserts new and changed records of batch with single bulk operation, retrying it on failure.
+     * @param batchIndex index of batch within import, used for reporting
+     * @param swiftDataDocs records of batch
+     * @return batch timings and counts
+     * @throws BulkOperationException when batch failed after all retries
+     */
+    public BatchReport upsertBatch(int batchIndex, List<SwiftDataDoc> swiftDataDocs) {
+        long start = System.nanoTime();
+        swiftDataDocs.forEach(doc -> doc.setContentHash(swiftDataPersistenceMapper.contentHashOf(doc)));
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            try {
+                List<SwiftDataDoc> changedDocs = filterChanged(swiftDataDocs);
+                int unchangedCount = swiftDataDocs.size() - changedDocs.size();
+                BulkWriteResult result = changedDocs.isEmpty() ? null : executeUpserts(changedDocs);
+                long durationMillis = (System.nanoTime() - start) / 1_000_000;
+                return new BatchReport(batchIndex, swiftDataDocs.size(), unchangedCount, attempt, durationMillis,
+                        result == null ? 0 : result.getMatchedCount(),
+                        result == null ? 0 : result.getModifiedCount(),
+                        result == null ? 0 : result.getUpserts().size());
+            } catch (Exception e) {
+                if (attempt > importProperties.getMaxRetries()) {
+                    String message = String.format(ExceptionMessage.BULK_BATCH_FAILURE, batchIndex, attempt);
+                    log.error(message, e);
+                    throw new BulkOperationException(message, e);
+                }
+                log.warn("Bulk batch {} failed on attempt {}, retrying", batchIndex, attempt, e);
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Sets institution prefix on records stored before the field was introduced.
+     * Prefix is derived from _id by DB within single update, so no record is transferred.
+     * @return number of updated records
+     */
+    public long backfillInstitutionPrefixes() {
+        return mongoTemplate.updateMulti(swiftDataPersistenceMapper.createQueryForMissingInstitutionPrefix(),
+                        swiftDataPersistenceMapper.createInstitutionPrefixBackfill(), SwiftDataDoc.class)
+                .getModifiedCount();
+    }
+
+    /**
+     * Deletes records stored by earlier imports which are missing in current one.
+     * Stored codes are streamed and deleted in batches, so memory use does not depend on DB size.
+     * @param importedCodes swift codes present in current import
+     * @return number of deleted records
+     */
+    public long deleteImportedExcept(SwiftCodeSet importedCodes) {
+        Query importedQuery = swiftDataPersistenceMapper.createQueryForImportedCodes();
+        long deletedCount = 0;
+        List<String> removedCodes = new ArrayList<>();
+        try (Stream<SwiftDataDoc> storedDocs = mongoTemplate.stream(importedQuery, SwiftDataDoc.class)) {
+            Iterator<SwiftDataDoc> iterator = storedDocs.iterator();
+            while (iterator.hasNext()) {
+                String swiftCode = iterator.next().getSwiftCode();
+                if (importedCodes.contains(swiftCode)) {
+                    continue;
+                }
+                removedCodes.add(swiftCode);
+                if (removedCodes.size() == importProperties.getBatchSize()) {
+                    deletedCount += deleteCodes(removedCodes);
+                    removedCodes = new ArrayList<>();
+                }
+            }
+        }
+        if (!removedCodes.isEmpty()) {
+            deletedCount += deleteCodes(removedCodes);
+        }
+        return deletedCount;
+    }
+
+    /**
+     * Reads stored hashes of batch with single query and drops records which did not change.
+     */
+    private List<SwiftDataDoc> filterChanged(List<SwiftDataDoc> swiftDataDocs) {
+        List<String> swiftCodes = swiftDataDocs.stream().map(SwiftDataDoc::getSwiftCode).toList();
+        Query hashesQuery = swiftDataPersistenceMapper.createQueryForContentHashes(swiftCodes);
+        Map<String, String> storedHashes = new HashMap<>();
+        for (SwiftDataDoc storedDoc : mongoTemplate.find(hashesQuery, SwiftDataDoc.class)) {
+            storedHashes.put(storedDoc.getSwiftCode(), storedDoc.getContentHash());
+        }
+        return swiftDataDocs.stream()
+                .filter(doc -> !Objects.equals(storedHashes.get(doc.getSwiftCode()), doc.getContentHash()))
+                .toList();
+    }
+
+    private BulkWriteResult executeUpserts(List<SwiftDataDoc> swiftDataDocs) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftDataDoc.class);
+
+        for (SwiftDataDoc doc : swiftDataDocs) {
+            Query query = swiftDataPersistenceMapper.createQueryForDoc(doc);
+            Update update = swiftDataPersistenceMapper.mapToUpdate(doc);
+            bulkOps.upsert(query, update);
+        }
+        return bulkOps.execute();
+    }
+
+    private long deleteCodes(List<String> swiftCodes) {
+        try {
+            return mongoTemplate.remove(swiftDataPersistenceMapper.createQueryForCodes(swiftCodes), SwiftDataDoc.class)
+                    .getDeletedCount();
+        } catch (Exception e) {
+            String message = String.format(ExceptionMessage.BULK_OPERATION_FAILURE, new Date());
+            log.error(message, e);
+            throw new BulkOperationException(message, e);
+        }
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(importProperties.getRetryBackoff().toMillis() * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String message = String.format(ExceptionMessage.IMPORT_INTERRUPTED, new Date());
+            throw new BulkOperationException(message, e);
+        }
+    }
+}
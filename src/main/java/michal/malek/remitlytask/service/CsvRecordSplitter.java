@@ -0,0 +1,182 @@
+package michal.malek.remitlytask.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Splits csv file into byte ranges starting at record boundaries, so ranges can be parsed independently.
+ * File is scanned once by a state machine following the same quoting rules as SwiftDataCsvParser,
+ * so a line break inside quoted field never ends a range. Lines are counted on the way,
+ * which gives every range the number of its first line and keeps reported lines exact.
+ * Ranges end only after LF, a file using bare CR line breaks stays in a single range.
+ */
+final class CsvRecordSplitter {
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    /**
+     * Range of csv bytes holding whole records.
+     * @param start offset of first byte
+     * @param end offset after last byte
+     * @param firstLine line at which range starts, counted from 1
+     */
+    record Range(long start, long end, long firstLine) {
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final long rangeSize;
+    private final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    private long bufferStart;
+    private long position;
+    private long line;
+    private long rangeStart;
+    private long rangeFirstLine;
+    private int state = FIELD_START;
+    private boolean afterCarriageReturn;
+
+    /**
+     * @param channel csv file
+     * @param start offset of first record, after header
+     * @param firstLine line of first record
+     * @param rangeSize preferred length of range, range is longer when its last record crosses it
+     * @throws IOException when size of file can't be read
+     */
+    CsvRecordSplitter(FileChannel channel, long start, long firstLine, long rangeSize) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.rangeSize = rangeSize;
+        this.position = start;
+        this.bufferStart = start;
+        this.rangeStart = start;
+        this.line = firstLine;
+        this.rangeFirstLine = firstLine;
+        buffer.limit(0);
+    }
+
+    /**
+     * Scans file up to the first record boundary after preferred range length.
+     * @return next range, null when whole file was split
+     * @throws IOException when file can't be read
+     */
+    Range next() throws IOException {
+        if (rangeStart >= size) {
+            return null;
+        }
+        long preferredEnd = rangeStart + rangeSize;
+        while (position < size) {
+            if (position - bufferStart == buffer.limit()) {
+                refill();
+            }
+            int next = buffer.get((int) (position - bufferStart));
+            position++;
+            if (scan(next) && position >= preferredEnd) {
+                return cut(position);
+            }
+        }
+        return cut(size);
+    }
+
+    /**
+     * Opens stream over range, backed by memory-mapped part of file.
+     * @param channel csv file
+     * @param range range of file
+     * @return stream of range bytes
+     * @throws IOException when file can't be mapped
+     */
+    static InputStream open(FileChannel channel, Range range) throws IOException {
+        ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, range.start(), range.end() - range.start());
+        return new InputStream() {
+            @Override
+            public int read() {
+                return bytes.hasRemaining() ? bytes.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] target, int offset, int length) {
+                if (!bytes.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(length, bytes.remaining());
+                bytes.get(target, offset, count);
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Moves state machine by one byte.
+     * @return true when byte ends a record with LF
+     */
+    private boolean scan(int next) {
+        boolean carriageReturn = afterCarriageReturn;
+        afterCarriageReturn = false;
+        switch (state) {
+            case QUOTED -> {
+                if (next == '"') {
+                    state = QUOTE_IN_QUOTED;
+                } else if (next == '\n') {
+                    line++;
+                }
+                return false;
+            }
+            case QUOTE_IN_QUOTED -> {
+                if (next == '"') {
+                    state = QUOTED;
+                    return false;
+                }
+            }
+            case FIELD_START -> {
+                if (next == ' ' || next == '\t') {
+                    return false;
+                }
+                if (next == '"') {
+                    state = QUOTED;
+                    return false;
+                }
+            }
+            default -> {
+            }
+        }
+        if (next == ',') {
+            state = FIELD_START;
+        } else if (next == '\r') {
+            line++;
+            state = FIELD_START;
+            afterCarriageReturn = true;
+        } else if (next == '\n') {
+            if (!carriageReturn) {
+                line++;
+            }
+            state = FIELD_START;
+            return true;
+        } else {
+            state = UNQUOTED;
+        }
+        return false;
+    }
+
+    private Range cut(long end) {
+        Range range = new Range(rangeStart, end, rangeFirstLine);
+        rangeStart = end;
+        rangeFirstLine = line;
+        return range;
+    }
+
+    private void refill() throws IOException {
+        buffer.clear();
+        bufferStart = position;
+        while (buffer.hasRemaining() && bufferStart + buffer.position() < size) {
+            if (channel.read(buffer, bufferStart + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+    }
+}
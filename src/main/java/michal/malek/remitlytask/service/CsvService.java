@@ -2,26 +2,50 @@ package michal.malek.remitlytask.service;
 
 import com.opencsv.bean.CsvToBean;
 import com.opencsv.bean.CsvToBeanBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import michal.malek.remitlytask.exception.CsvParsingException;
 import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
+import michal.malek.remitlytask.model.swift_data.SwiftDataCsv;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
 
 /**
  * Service responsible for reading data from csv.
+ * Csv of any class is read by OpenCSV, swift data has a faster path parsing bytes straight to documents.
+ * Swift data files can also be split into ranges parsed in parallel.
+ * Csv is always decoded as UTF-8.
+ * Reading time, read rows and parse errors are recorded per csv class.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class CsvService {
+    private final MeterRegistry meterRegistry;
 
     /**
      * Provides flexible possibilities for reading csv files.
@@ -33,20 +57,305 @@ public class CsvService {
      * @param <T> Allows to read different csv files.
      */
     public <T> List<T> readCsv(Class<T> csvClass, Resource resource) {
-        try (Reader reader = new InputStreamReader(resource.getInputStream())) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
             CsvToBean<T> csvToBean = new CsvToBeanBuilder<T>(reader)
                     .withType(csvClass)
                     .withIgnoreLeadingWhiteSpace(true)
                     .build();
-            return csvToBean.parse();
+            List<T> records = csvToBean.parse();
+            rowsCounter(csvClass).increment(records.size());
+            return records;
         } catch (IOException e) {
             String message = String.format(ExceptionMessage.CSV_READ_FAILURE, csvClass.getName() , new Date());
             log.error(message);
             throw new CsvParsingException(message, e);
         } catch (Exception e) {
+            parseErrorsCounter(csvClass).increment();
             String message = String.format(ExceptionMessage.CSV_PROCESSING_FAILURE, csvClass.getName() , new Date());
             log.error(message);
             throw new CsvParsingException(message, e);
+        } finally {
+            sample.stop(readTimer(csvClass, "read"));
         }
     }
+
+    /**
+     * Reads csv lazily and hands records over in chunks,
+     * so memory used does not depend on file size.
+     * Exceptions thrown by consumer are propagated unchanged.
+     * @param csvClass Describes which model is read.
+     * @param resource Provides information about read csv.
+     * @param chunkSize Maximal number of records passed to consumer at once.
+     * @param chunkConsumer Processes every chunk, chunk list is not reused.
+     * @return Number of records read.
+     * @param <T> Allows to read different csv files.
+     */
+    public <T> long streamCsv(Class<T> csvClass, Resource resource, int chunkSize, Consumer<List<T>> chunkConsumer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Counter rows = rowsCounter(csvClass);
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            Iterator<T> records = iterate(csvClass, reader);
+            List<T> chunk = new ArrayList<>(chunkSize);
+            long recordCount = 0;
+            T record;
+            while ((record = nextRecord(records, csvClass)) != null) {
+                chunk.add(record);
+                recordCount++;
+                if (chunk.size() == chunkSize) {
+                    rows.increment(chunk.size());
+                    chunkConsumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                rows.increment(chunk.size());
+                chunkConsumer.accept(chunk);
+            }
+            return recordCount;
+        } catch (IOException e) {
+            String message = String.format(ExceptionMessage.CSV_READ_FAILURE, new Date(), csvClass.getName());
+            log.error(message);
+            throw new CsvParsingException(message, e);
+        } finally {
+            sample.stop(readTimer(csvClass, "stream"));
+        }
+    }
+
+    /**
+     * Reads csv in SwiftDataCsv layout lazily and hands documents over in chunks.
+     * Unlike streamCsv it doesn't bind beans by reflection, only columns stored in DB are decoded.
+     * Exceptions thrown by consumer are propagated unchanged.
+     * @param resource Provides information about read csv.
+     * @param chunkSize Maximal number of records passed to consumer at once.
+     * @param chunkConsumer Processes every chunk, chunk list is not reused.
+     * @return Number of records read.
+     */
+    public long streamSwiftData(Resource resource, int chunkSize, Consumer<List<SwiftDataDoc>> chunkConsumer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Counter rows = rowsCounter(SwiftDataCsv.class);
+        try (InputStream inputStream = resource.getInputStream()) {
+            SwiftDataCsvParser parser = SwiftDataCsvParser.open(inputStream);
+            List<SwiftDataDoc> chunk = new ArrayList<>(chunkSize);
+            long recordCount = 0;
+            SwiftDataDoc swiftDataDoc;
+            while ((swiftDataDoc = nextSwiftData(parser)) != null) {
+                chunk.add(swiftDataDoc);
+                recordCount++;
+                if (chunk.size() == chunkSize) {
+                    rows.increment(chunk.size());
+                    chunkConsumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                rows.increment(chunk.size());
+                chunkConsumer.accept(chunk);
+            }
+            return recordCount;
+        } catch (IOException e) {
+            String message = String.format(ExceptionMessage.CSV_READ_FAILURE, new Date(), SwiftDataCsv.class.getName());
+            log.error(message);
+            throw new CsvParsingException(message, e);
+        } finally {
+            sample.stop(readTimer(SwiftDataCsv.class, "direct"));
+        }
+    }
+
+    /**
+     * Reads csv in SwiftDataCsv layout on multiple threads and hands documents over in chunks.
+     * File is split into ranges of whole records, taking quoted line breaks into account,
+     * ranges are parsed on fork-join pool while splitting goes on. Chunks are handed over
+     * on calling thread in file order, so consumer needs no synchronization.
+     * Bytes of ranges submitted but not handed over yet are bounded, so memory of parsed records
+     * does not grow with parallelism, slow consumer slows parsing down.
+     * Malformed record stops reading like in streamSwiftData, records preceding it are handed over.
+     * Resources which are not files, or parallelism of 1, are read by streamSwiftData.
+     * @param resource Provides information about read csv.
+     * @param chunkSize Maximal number of records passed to consumer at once.
+     * @param parallelism Number of ranges parsed at once.
+     * @param rangeSize Preferred number of bytes of a range.
+     * @param maxBytesInFlight Maximal number of bytes of ranges parsed ahead of consumer, at least one range is parsed.
+     * @param chunkConsumer Processes every chunk, chunk list is not reused.
+     * @return Number of records read.
+     * @throws CsvParsingException when csv can't be read or record is malformed
+     */
+    public long parallelStreamSwiftData(Resource resource, int chunkSize, int parallelism, long rangeSize,
+                                        long maxBytesInFlight, Consumer<List<SwiftDataDoc>> chunkConsumer) {
+        if (parallelism <= 1 || !resource.isFile()) {
+            return streamSwiftData(resource, chunkSize, chunkConsumer);
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Counter rows = rowsCounter(SwiftDataCsv.class);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+            // header parser moves channel position only, ranges are read at absolute offsets
+            SwiftDataCsvParser headerParser = SwiftDataCsvParser.open(Channels.newInputStream(channel));
+            CsvRecordSplitter splitter =
+                    new CsvRecordSplitter(channel, headerParser.offset(), headerParser.line(), rangeSize);
+            Deque<ForkJoinTask<ParsedRange>> rangesInFlight = new ArrayDeque<>();
+            long bytesInFlight = 0;
+            long recordCount = 0;
+            CsvRecordSplitter.Range range;
+            while ((range = splitter.next()) != null) {
+                long rangeBytes = range.end() - range.start();
+                while (!rangesInFlight.isEmpty() && bytesInFlight + rangeBytes > maxBytesInFlight) {
+                    ParsedRange parsedRange = rangesInFlight.poll().join();
+                    bytesInFlight -= parsedRange.byteCount();
+                    recordCount += handOver(parsedRange, chunkSize, rows, chunkConsumer);
+                }
+                CsvRecordSplitter.Range submittedRange = range;
+                rangesInFlight.add(pool.submit(() -> parseRange(channel, headerParser, submittedRange)));
+                bytesInFlight += rangeBytes;
+            }
+            while (!rangesInFlight.isEmpty()) {
+                recordCount += handOver(rangesInFlight.poll().join(), chunkSize, rows, chunkConsumer);
+            }
+            return recordCount;
+        } catch (IOException | UncheckedIOException e) {
+            String message = String.format(ExceptionMessage.CSV_READ_FAILURE, new Date(), SwiftDataCsv.class.getName());
+            log.error(message);
+            throw new CsvParsingException(message, e);
+        } finally {
+            pool.shutdownNow();
+            sample.stop(readTimer(SwiftDataCsv.class, "parallel"));
+        }
+    }
+
+    /**
+     * Parses records of a range until its end or first malformed record, which is kept instead of thrown.
+     */
+    private ParsedRange parseRange(FileChannel channel, SwiftDataCsvParser headerParser, CsvRecordSplitter.Range range) {
+        try (InputStream inputStream = CsvRecordSplitter.open(channel, range)) {
+            SwiftDataCsvParser parser = headerParser.forPart(inputStream, range.firstLine());
+            List<SwiftDataDoc> docs = new ArrayList<>();
+            try {
+                SwiftDataDoc swiftDataDoc;
+                while ((swiftDataDoc = parser.next()) != null) {
+                    docs.add(swiftDataDoc);
+                }
+            } catch (CsvParsingException e) {
+                return new ParsedRange(docs, e, range.end() - range.start());
+            }
+            return new ParsedRange(docs, null, range.end() - range.start());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Hands documents of range over in chunks, then fails on malformed record of range if there was one.
+     * @return number of handed over documents
+     */
+    private long handOver(ParsedRange parsedRange, int chunkSize, Counter rows, Consumer<List<SwiftDataDoc>> chunkConsumer) {
+        List<SwiftDataDoc> docs = parsedRange.docs();
+        for (int from = 0; from < docs.size(); from += chunkSize) {
+            List<SwiftDataDoc> chunk = new ArrayList<>(docs.subList(from, Math.min(from + chunkSize, docs.size())));
+            rows.increment(chunk.size());
+            chunkConsumer.accept(chunk);
+        }
+        if (parsedRange.failure() != null) {
+            parseErrorsCounter(SwiftDataCsv.class).increment();
+            log.error(parsedRange.failure().getMessage());
+            throw parsedRange.failure();
+        }
+        return docs.size();
+    }
+
+    /**
+     * Parses next document, so parsing failures are counted apart from consumer failures.
+     * @return next document or null when csv ended
+     */
+    private SwiftDataDoc nextSwiftData(SwiftDataCsvParser parser) throws IOException {
+        try {
+            return parser.next();
+        } catch (CsvParsingException e) {
+            parseErrorsCounter(SwiftDataCsv.class).increment();
+            log.error(e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Computes checksum of csv content, so changed files can be detected without parsing them.
+     * Compressed sources are checksummed as stored.
+     * @param resources Provides information about read csv files, in order of import.
+     * @return CRC32C of bytes of all files.
+     */
+    public long checksum(List<Resource> resources) {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[64 * 1024];
+        for (Resource resource : resources) {
+            try (InputStream inputStream = resource.getInputStream()) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                String message = String.format(ExceptionMessage.CSV_SOURCE_READ_FAILURE, resource.getDescription());
+                log.error(message);
+                throw new CsvParsingException(message, e);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private <T> Iterator<T> iterate(Class<T> csvClass, Reader reader) {
+        try {
+            return new CsvToBeanBuilder<T>(reader)
+                    .withType(csvClass)
+                    .withIgnoreLeadingWhiteSpace(true)
+                    .build()
+                    .iterator();
+        } catch (Exception e) {
+            throw processingFailure(csvClass, e);
+        }
+    }
+
+    /**
+     * Parses next record, so parsing failures are separated from consumer failures.
+     * @return next record or null when csv ended
+     */
+    private <T> T nextRecord(Iterator<T> records, Class<T> csvClass) {
+        try {
+            return records.hasNext() ? records.next() : null;
+        } catch (Exception e) {
+            throw processingFailure(csvClass, e);
+        }
+    }
+
+    private CsvParsingException processingFailure(Class<?> csvClass, Exception e) {
+        parseErrorsCounter(csvClass).increment();
+        String message = String.format(ExceptionMessage.CSV_PROCESSING_FAILURE, new Date(), csvClass.getName());
+        log.error(message);
+        return new CsvParsingException(message, e);
+    }
+
+    /**
+     * Time of streaming includes time spent by chunk consumer.
+     */
+    private Timer readTimer(Class<?> csvClass, String mode) {
+        return Timer.builder("swift.csv.read")
+                .tag("type", csvClass.getSimpleName())
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    private Counter rowsCounter(Class<?> csvClass) {
+        return Counter.builder("swift.csv.rows")
+                .tag("type", csvClass.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private Counter parseErrorsCounter(Class<?> csvClass) {
+        return Counter.builder("swift.csv.parse.errors")
+                .tag("type", csvClass.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Documents of a range in order of lines, followed by failure of malformed record, null when there was none.
+     */
+    private record ParsedRange(List<SwiftDataDoc> docs, CsvParsingException failure, long byteCount) {
+    }
 }
@@ -0,0 +1,218 @@
+package michal.malek.remitlytask.service;
+
+import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.exception.CsvParsingException;
+import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Resolves sources of swift data csv.
+ * Locations are separated by commas, each one may point to classpath ("classpath:") or filesystem ("file:")
+ * and may hold Ant-style globs, e.g. "file:/data/swift/part-*.csv.gz". Location without prefix is read from classpath.
+ * Sources ending with .gz are decompressed while read, every .csv entry of .zip source is a separate csv part,
+ * nothing is extracted to disk.
+ * Sources are resolved on every call, so files which appeared in matched directories are picked up.
+ */
+@Slf4j
+public class CsvSourceResolver {
+    private static final int DECOMPRESSION_BUFFER_SIZE = 64 * 1024;
+
+    private final List<String> locations;
+    private final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+    /**
+     * @param locations comma separated locations of csv sources
+     */
+    public CsvSourceResolver(String locations) {
+        this.locations = Arrays.stream(locations.split(","))
+                .map(String::trim)
+                .filter(location -> !location.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Finds sources matching configured locations.
+     * @return sources as stored, possibly compressed, in order of locations and then of file names
+     * @throws CsvParsingException when a location matches no existing source
+     */
+    public List<Resource> resolveSources() {
+        List<Resource> sources = new ArrayList<>();
+        for (String location : locations) {
+            List<Resource> matched = match(location);
+            if (matched.isEmpty()) {
+                throw new CsvParsingException(String.format(ExceptionMessage.CSV_SOURCE_NOT_FOUND, location));
+            }
+            sources.addAll(matched);
+        }
+        return sources;
+    }
+
+    /**
+     * Expands source into csv parts, compressed content is decompressed while part is read.
+     * @param source source returned by resolveSources
+     * @return csv parts, each one starting with header
+     * @throws CsvParsingException when zip source can't be listed
+     */
+    public List<Resource> parts(Resource source) {
+        String name = fileNameOf(source);
+        if (name.endsWith(".gz")) {
+            return List.of(new GzipResource(source));
+        }
+        if (!name.endsWith(".zip")) {
+            return List.of(source);
+        }
+        try {
+            List<Resource> parts = zipEntryNames(source).stream()
+                    .filter(entryName -> entryName.toLowerCase(Locale.ROOT).endsWith(".csv"))
+                    .sorted()
+                    .<Resource>map(entryName -> new ZipEntryResource(source, entryName))
+                    .toList();
+            log.debug("Found {} csv parts in {}", parts.size(), source.getDescription());
+            return parts;
+        } catch (IOException e) {
+            throw new CsvParsingException(String.format(ExceptionMessage.CSV_SOURCE_READ_FAILURE,
+                    source.getDescription()), e);
+        }
+    }
+
+    private List<Resource> match(String location) {
+        try {
+            return Arrays.stream(resourcePatternResolver.getResources(location))
+                    .filter(Resource::exists)
+                    .filter(Resource::isReadable)
+                    .sorted(Comparator.comparing(CsvSourceResolver::fileNameOf))
+                    .toList();
+        } catch (FileNotFoundException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new CsvParsingException(String.format(ExceptionMessage.CSV_SOURCE_READ_FAILURE, location), e);
+        }
+    }
+
+    private static List<String> zipEntryNames(Resource source) throws IOException {
+        List<String> entryNames = new ArrayList<>();
+        if (source.isFile()) {
+            try (ZipFile zipFile = new ZipFile(source.getFile())) {
+                zipFile.stream().filter(entry -> !entry.isDirectory()).forEach(entry -> entryNames.add(entry.getName()));
+            }
+            return entryNames;
+        }
+        try (ZipInputStream zipInputStream = new ZipInputStream(source.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    entryNames.add(entry.getName());
+                }
+            }
+        }
+        return entryNames;
+    }
+
+    private static String fileNameOf(Resource resource) {
+        String name = resource.getFilename();
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Content of gzip source, multi-member files are read as a whole.
+     */
+    private static final class GzipResource extends AbstractResource {
+        private final Resource source;
+
+        private GzipResource(Resource source) {
+            this.source = source;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new GZIPInputStream(source.getInputStream(), DECOMPRESSION_BUFFER_SIZE);
+        }
+
+        @Override
+        public boolean exists() {
+            return source.exists();
+        }
+
+        @Override
+        public String getDescription() {
+            return "gzip content of " + source.getDescription();
+        }
+    }
+
+    /**
+     * Single entry of zip source. Entry of a file is opened directly,
+     * otherwise zip is streamed up to the entry.
+     */
+    private static final class ZipEntryResource extends AbstractResource {
+        private final Resource source;
+        private final String entryName;
+
+        private ZipEntryResource(Resource source, String entryName) {
+            this.source = source;
+            this.entryName = entryName;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            if (source.isFile()) {
+                ZipFile zipFile = new ZipFile(source.getFile());
+                ZipEntry entry = zipFile.getEntry(entryName);
+                if (entry == null) {
+                    zipFile.close();
+                    throw new FileNotFoundException(getDescription());
+                }
+                return new FilterInputStream(zipFile.getInputStream(entry)) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            zipFile.close();
+                        }
+                    }
+                };
+            }
+            ZipInputStream zipInputStream = new ZipInputStream(source.getInputStream());
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                if (entry.getName().equals(entryName)) {
+                    return zipInputStream;
+                }
+            }
+            zipInputStream.close();
+            throw new FileNotFoundException(getDescription());
+        }
+
+        @Override
+        public boolean exists() {
+            return source.exists();
+        }
+
+        @Override
+        public String getFilename() {
+            return entryName;
+        }
+
+        @Override
+        public String getDescription() {
+            return "entry " + entryName + " of " + source.getDescription();
+        }
+    }
+}
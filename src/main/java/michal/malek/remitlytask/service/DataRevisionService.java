@@ -0,0 +1,52 @@
+package michal.malek.remitlytask.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.model.swift_data.SwiftDataRevisionDoc;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service responsible for revision of swift data.
+ * Every write operation increments revision once, after records were written,
+ * so snapshot taken at some revision is known to be stale once revision in DB differs.
+ * Failed increment does not fail the write, it is only logged.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DataRevisionService {
+    private final MongoTemplate mongoTemplate;
+    private final SwiftDataPersistenceMapper swiftDataPersistenceMapper;
+
+    /**
+     * @return current revision, 0 when data was never written
+     */
+    public long currentRevision() {
+        SwiftDataRevisionDoc revisionDoc = mongoTemplate.findOne(swiftDataPersistenceMapper.createQueryForRevision(),
+                SwiftDataRevisionDoc.class);
+        return revisionDoc == null ? 0 : revisionDoc.getRevision();
+    }
+
+    /**
+     * Counts records from collection metadata, catches changes made to DB bypassing revision.
+     * @return number of swift records stored in DB
+     */
+    public long recordCount() {
+        return mongoTemplate.estimatedCount(SwiftDataDoc.class);
+    }
+
+    /**
+     * Increments revision, should be called after write operation succeeded.
+     */
+    public void increment() {
+        try {
+            mongoTemplate.upsert(swiftDataPersistenceMapper.createQueryForRevision(),
+                    swiftDataPersistenceMapper.createRevisionIncrement(), SwiftDataRevisionDoc.class);
+        } catch (Exception e) {
+            log.warn("Failed to increment swift data revision", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package michal.malek.remitlytask.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
+import michal.malek.remitlytask.model.swift_data.SwiftDataRevisionDoc;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of DataRevisionService, active with reactive web stack,
+ * so reactive MongoDB client is created only there.
+ * Failed increment does not fail the write, it is only logged.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDataRevisionService {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final SwiftDataPersistenceMapper swiftDataPersistenceMapper;
+
+    /**
+     * Increments revision without blocking, should be subscribed after write operation succeeded.
+     * @return completes once revision was incremented or increment failed
+     */
+    public Mono<Void> increment() {
+        return reactiveMongoTemplate.upsert(swiftDataPersistenceMapper.createQueryForRevision(),
+                        swiftDataPersistenceMapper.createRevisionIncrement(), SwiftDataRevisionDoc.class)
+                .doOnError(e -> log.warn("Failed to increment swift data revision", e))
+                .onErrorComplete()
+                .then();
+    }
+}
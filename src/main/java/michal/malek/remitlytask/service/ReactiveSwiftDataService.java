@@ -0,0 +1,216 @@
+package michal.malek.remitlytask.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.cache.CachedJson;
+import michal.malek.remitlytask.cache.JsonResponseCache;
+import michal.malek.remitlytask.directory.Institution;
+import michal.malek.remitlytask.directory.SwiftDirectory;
+import michal.malek.remitlytask.exception.SwiftDataAlreadyExistsException;
+import michal.malek.remitlytask.exception.SwiftDataNotFoundException;
+import michal.malek.remitlytask.mapper.SwiftDataMapper;
+import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
+import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
+import michal.malek.remitlytask.model.constant.messages.SuccessMessage;
+import michal.malek.remitlytask.model.standard.StandardizedSuccessResponse;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.model.swift_data.request.SwiftDataRequest;
+import michal.malek.remitlytask.model.swift_data.response.BatchLookupResponse;
+import michal.malek.remitlytask.model.swift_data.response.BranchResponse;
+import michal.malek.remitlytask.model.swift_data.response.BulkWriteResponse;
+import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataResponse;
+import michal.malek.remitlytask.model.swift_data.response.HeadquarterAndBranchesResponse;
+import michal.malek.remitlytask.repository.ReactiveSwiftDataRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive counterpart of SwiftDataService, active with reactive web stack.
+ * Reads are served from in-memory directory once it is loaded, otherwise from reactive repository,
+ * so event-loop threads never wait on MongoDB.
+ * Writes update directory and caches through SwiftDataService, so both stacks share read structures.
+ * Batch and bulk operations reuse blocking implementation on bounded elastic scheduler.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSwiftDataService {
+    private final ReactiveSwiftDataRepository reactiveSwiftDataRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final SwiftDataMapper swiftDataMapper;
+    private final SwiftDataPersistenceMapper swiftDataPersistenceMapper;
+    private final SwiftDataService swiftDataService;
+    private final SwiftDirectory swiftDirectory;
+    private final JsonResponseCache jsonResponseCache;
+    private final ReactiveDataRevisionService reactiveDataRevisionService;
+
+    /**
+     * Gets serialized headquarter Swift data with branches.
+     * @param swiftCode the Swift code
+     * @return JSON of HeadquarterAndBranchesResponse, SwiftDataNotFoundException when missing
+     */
+    public Mono<CachedJson> getSwiftDataWithBranchesJson(String swiftCode){
+        if(swiftDirectory.isLoaded()){
+            return Mono.fromSupplier(() -> swiftDataService.getSwiftDataWithBranchesJson(swiftCode));
+        }
+        return getSwiftDataWithBranches(swiftCode).map(jsonResponseCache::serialize);
+    }
+
+    /**
+     * Gets headquarter Swift data with branches from DB.
+     * Headquarters and its branches are read with single query on institution prefix.
+     * @param swiftCode the Swift code
+     * @return Headquarters with details and branches, SwiftDataNotFoundException when missing
+     */
+    public Mono<HeadquarterAndBranchesResponse> getSwiftDataWithBranches(String swiftCode){
+        String swiftPrefix = Institution.prefixOf(swiftCode);
+        Mono<HeadquarterAndBranchesResponse> response;
+        if(swiftCode.endsWith("XXX")){
+            response = reactiveSwiftDataRepository.findByInstitutionPrefix(swiftPrefix)
+                    .collectList()
+                    .flatMap(institutionDocs -> Mono.justOrEmpty(institutionDocs.stream()
+                                    .filter(doc -> swiftCode.equals(doc.getSwiftCode()))
+                                    .findFirst())
+                            .map(swiftData -> swiftDataService.toHeadquarterResponse(swiftData, institutionDocs.stream()
+                                    .filter(doc -> !doc.isHeadquarter())
+                                    .toList())));
+        } else {
+            response = reactiveSwiftDataRepository.findById(swiftCode)
+                    .flatMap(swiftData -> swiftData.isHeadquarter()
+                            ? reactiveSwiftDataRepository.findByInstitutionPrefixAndIsHeadquarterFalse(swiftPrefix)
+                                    .collectList()
+                                    .map(branches -> swiftDataService.toHeadquarterResponse(swiftData, branches))
+                            : Mono.just(swiftDataService.toHeadquarterResponse(swiftData, List.of())));
+        }
+        return response.switchIfEmpty(Mono.error(() -> new SwiftDataNotFoundException(
+                String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND, swiftCode))));
+    }
+
+    /**
+     * Gets serialized country Swift data.
+     * @param countryISO2Code the 2-letter country code
+     * @return JSON of CountrySwiftDataResponse, SwiftDataNotFoundException when country has no data
+     */
+    public Mono<CachedJson> getCountrySwiftDataJson(String countryISO2Code){
+        if(swiftDirectory.isLoaded()){
+            return Mono.fromSupplier(() -> swiftDataService.getCountrySwiftDataJson(countryISO2Code));
+        }
+        return reactiveSwiftDataRepository.findByCountryISO2(countryISO2Code)
+                .collectList()
+                .filter(countryDocs -> !countryDocs.isEmpty())
+                .map(countryDocs -> CountrySwiftDataResponse.builder()
+                        .countryISO2(countryISO2Code)
+                        .countryName(countryDocs.get(0).getCountryName())
+                        .swiftCodes(swiftDataMapper.swiftDocListToResponseList(countryDocs))
+                        .build())
+                .map(jsonResponseCache::serialize)
+                .switchIfEmpty(Mono.error(() -> new SwiftDataNotFoundException(
+                        String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND_ISO2, countryISO2Code))));
+    }
+
+    /**
+     * Gets serialized page of country Swift data.
+     * @param countryISO2Code the 2-letter country code
+     * @param afterSwiftCode cursor, null for first page
+     * @param limit maximal number of records on page
+     * @return JSON of CountrySwiftDataPageResponse
+     */
+    public Mono<CachedJson> getCountrySwiftDataPageJson(String countryISO2Code, String afterSwiftCode, int limit){
+        return onBoundedElastic(() -> swiftDataService.getCountrySwiftDataPageJson(countryISO2Code, afterSwiftCode, limit));
+    }
+
+    /**
+     * Streams all Swift data of a country, from live directory view or MongoDB cursor.
+     * @param countryISO2Code the 2-letter country code
+     * @return records in swift code order, SwiftDataNotFoundException when country has no data
+     */
+    public Flux<BranchResponse> streamCountrySwiftData(String countryISO2Code){
+        Flux<SwiftDataDoc> countryDocs = swiftDirectory.isLoaded()
+                ? Flux.fromIterable(swiftDirectory.viewByCountry(countryISO2Code))
+                : reactiveMongoTemplate.find(swiftDataPersistenceMapper.createQueryForCountry(countryISO2Code), SwiftDataDoc.class);
+        return countryDocs
+                .map(swiftDataMapper::swiftDocToResponse)
+                .switchIfEmpty(Flux.error(() -> new SwiftDataNotFoundException(
+                        String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND_ISO2, countryISO2Code))));
+    }
+
+    /**
+     * Resolves many swift codes at once.
+     * @param swiftCodes swift codes
+     * @return found records and codes which were not found
+     */
+    public Mono<BatchLookupResponse> batchLookup(List<String> swiftCodes){
+        return onBoundedElastic(() -> swiftDataService.batchLookup(swiftCodes));
+    }
+
+    /**
+     * Adds new record of swift data to DB with single insert.
+     * @param request SwiftDataRequest
+     * @return success message, SwiftDataAlreadyExistsException when record with the same swift code exists
+     */
+    public Mono<StandardizedSuccessResponse> addSwiftData(SwiftDataRequest request){
+        return Mono.fromCallable(() -> {
+                    swiftDataService.validateSwiftDataRequest(request);
+                    return swiftDataMapper.swiftRequestToDoc(request);
+                })
+                .flatMap(swiftDataDoc -> reactiveSwiftDataRepository.insert(swiftDataDoc)
+                        .onErrorMap(DuplicateKeyException.class, e -> new SwiftDataAlreadyExistsException(
+                                String.format(ExceptionMessage.SWIFT_CODE_ALREADY_EXISTS, swiftDataDoc.getSwiftCode()))))
+                .doOnNext(swiftDataService::applyStored)
+                .flatMap(swiftDataDoc -> reactiveDataRevisionService.increment().thenReturn(swiftDataDoc))
+                .map(swiftDataDoc -> new StandardizedSuccessResponse(
+                        String.format(SuccessMessage.SWIFT_DATA_ADDITION_SUCCESS, swiftDataDoc.getSwiftCode())));
+    }
+
+    /**
+     * Deletes swift data by code from DB, missing record is recognized by deleted count.
+     * @param swiftCode swift code
+     * @return success message, SwiftDataNotFoundException when data is not found
+     */
+    public Mono<StandardizedSuccessResponse> deleteSwiftData(String swiftCode){
+        return reactiveMongoTemplate.remove(swiftDataPersistenceMapper.createQueryForCode(swiftCode), SwiftDataDoc.class)
+                .flatMap(deleteResult -> {
+                    if(deleteResult.getDeletedCount() == 0){
+                        return Mono.error(new SwiftDataNotFoundException(
+                                String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND, swiftCode)));
+                    }
+                    swiftDataService.applyRemoved(swiftCode);
+                    return reactiveDataRevisionService.increment().thenReturn(new StandardizedSuccessResponse(
+                            String.format(SuccessMessage.SWIFT_DATA_DELETE_SUCCESS, swiftCode)));
+                });
+    }
+
+    /**
+     * Adds many records of swift data with single bulk insert.
+     * @param requests records to add
+     * @return outcome of every record in request order
+     */
+    public Mono<BulkWriteResponse> addSwiftDataBulk(List<SwiftDataRequest> requests){
+        return onBoundedElastic(() -> swiftDataService.addSwiftDataBulk(requests));
+    }
+
+    /**
+     * Deletes many records of swift data with single bulk remove.
+     * @param swiftCodes swift codes to delete
+     * @return outcome of every code in request order
+     */
+    public Mono<BulkWriteResponse> deleteSwiftDataBulk(List<String> swiftCodes){
+        return onBoundedElastic(() -> swiftDataService.deleteSwiftDataBulk(swiftCodes));
+    }
+
+    /**
+     * Runs blocking call outside of event loop.
+     */
+    private <T> Mono<T> onBoundedElastic(Callable<T> blockingCall){
+        return Mono.fromCallable(blockingCall).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,304 @@
+package michal.malek.remitlytask.service;
+
+import michal.malek.remitlytask.exception.CsvParsingException;
+import michal.malek.remitlytask.mapper.SwiftDataMapper;
+import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
+import michal.malek.remitlytask.model.import_report.CsvLineError;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parser of csv in SwiftDataCsv layout, mapping records straight to SwiftDataDoc.
+ * Reads UTF-8 bytes in chunks and decodes only columns stored in DB, without reflection and intermediate beans.
+ * Columns are matched by header name like OpenCSV does, leading whitespace of fields is ignored,
+ * quoted fields may hold delimiters, doubled quotes and line breaks.
+ * Header is read once, parsers of further parts of the same file reuse its columns.
+ */
+final class SwiftDataCsvParser {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int END_OF_INPUT = -1;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private static final String COUNTRY_ISO2_COLUMN = "COUNTRY ISO2 CODE";
+    private static final String SWIFT_CODE_COLUMN = "SWIFT CODE";
+    private static final String NAME_COLUMN = "NAME";
+    private static final String ADDRESS_COLUMN = "ADDRESS";
+    private static final String COUNTRY_NAME_COLUMN = "COUNTRY NAME";
+    private static final List<String> MAPPED_COLUMNS =
+            List.of(COUNTRY_ISO2_COLUMN, SWIFT_CODE_COLUMN, NAME_COLUMN, ADDRESS_COLUMN, COUNTRY_NAME_COLUMN);
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long bufferStart;
+    private byte[] field = new byte[256];
+    private int fieldLength;
+
+    /**
+     * Slot in values of every column, -1 for columns which are skipped.
+     */
+    private int[] columnSlots = new int[0];
+    private int columnCount;
+    private final String[] values = new String[MAPPED_COLUMNS.size()];
+    private List<String> headerNames;
+    private int fieldCount;
+    private long line;
+    private long recordLine;
+    private CsvLineError error;
+
+    private SwiftDataCsvParser(InputStream input, long firstLine) {
+        this.input = input;
+        this.line = firstLine;
+    }
+
+    /**
+     * Creates parser and reads header of csv.
+     * @param input csv bytes, closed by caller
+     * @return parser positioned at first record
+     * @throws IOException when input can't be read
+     * @throws CsvParsingException when header lacks a column stored in DB
+     */
+    static SwiftDataCsvParser open(InputStream input) throws IOException {
+        SwiftDataCsvParser parser = new SwiftDataCsvParser(input, 1);
+        parser.skipBom();
+        parser.readHeader();
+        return parser;
+    }
+
+    /**
+     * Creates parser of records following header, e.g. of a range of the same file.
+     * @param input csv bytes starting at record boundary, closed by caller
+     * @param firstLine line at which input starts
+     * @return parser using columns of this one
+     */
+    SwiftDataCsvParser forPart(InputStream input, long firstLine) {
+        SwiftDataCsvParser parser = new SwiftDataCsvParser(input, firstLine);
+        parser.columnSlots = columnSlots;
+        parser.columnCount = columnCount;
+        return parser;
+    }
+
+    /**
+     * Parses next record.
+     * @return next record or null when csv ended
+     * @throws IOException when input can't be read
+     * @throws CsvParsingException when record is malformed
+     */
+    SwiftDataDoc next() throws IOException {
+        SwiftDataDoc swiftDataDoc = nextOrError();
+        if (error != null) {
+            throw new CsvParsingException(
+                    String.format(ExceptionMessage.CSV_MALFORMED_RECORD, error.getLine(), error.getReason()));
+        }
+        return swiftDataDoc;
+    }
+
+    /**
+     * @return next record, null when csv ended or record is malformed, then error is set
+     */
+    private SwiftDataDoc nextOrError() throws IOException {
+        error = null;
+        if (!readRecord()) {
+            return null;
+        }
+        if (error == null && fieldCount != columnCount) {
+            error = new CsvLineError(recordLine,
+                    String.format(ExceptionMessage.CSV_FIELD_COUNT_MISMATCH, columnCount, fieldCount));
+        }
+        if (error != null) {
+            return null;
+        }
+        String swiftCode = values[1];
+        return SwiftDataDoc.builder()
+                .countryISO2(values[0])
+                .swiftCode(swiftCode)
+                .bankName(values[2])
+                .address(values[3])
+                .countryName(values[4])
+                .isHeadquarter(SwiftDataMapper.checkIfHeadquarter(swiftCode))
+                .institutionPrefix(SwiftDataMapper.institutionPrefix(swiftCode))
+                .build();
+    }
+
+    /**
+     * @return line at which last parsed record started, counted from 1
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * @return number of bytes consumed from input, e.g. where records start after header
+     */
+    long offset() {
+        return bufferStart + position;
+    }
+
+    /**
+     * @return line at which next record starts, unless blank lines precede it
+     */
+    long line() {
+        return line;
+    }
+
+    private void skipBom() throws IOException {
+        if (fill() && limit - position >= UTF8_BOM.length
+                && Arrays.equals(buffer, position, position + UTF8_BOM.length, UTF8_BOM, 0, UTF8_BOM.length)) {
+            position += UTF8_BOM.length;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        headerNames = new ArrayList<>();
+        boolean hasHeader = readRecord();
+        List<String> names = headerNames;
+        headerNames = null;
+        if (!hasHeader) {
+            return;
+        }
+        columnCount = names.size();
+        columnSlots = new int[columnCount];
+        boolean[] mapped = new boolean[MAPPED_COLUMNS.size()];
+        for (int column = 0; column < columnCount; column++) {
+            columnSlots[column] = MAPPED_COLUMNS.indexOf(names.get(column).trim().toUpperCase(Locale.ROOT));
+            if (columnSlots[column] >= 0) {
+                mapped[columnSlots[column]] = true;
+            }
+        }
+        for (int slot = 0; slot < mapped.length; slot++) {
+            if (!mapped[slot]) {
+                throw new CsvParsingException(String.format(ExceptionMessage.CSV_MISSING_COLUMN, MAPPED_COLUMNS.get(slot)));
+            }
+        }
+    }
+
+    /**
+     * Reads fields of next non-blank line into values.
+     * @return false when csv ended
+     */
+    private boolean readRecord() throws IOException {
+        int next = read();
+        while (next == '\r' || next == '\n') {
+            endLine(next);
+            next = read();
+        }
+        if (next == END_OF_INPUT) {
+            return false;
+        }
+        recordLine = line;
+        fieldCount = 0;
+        Arrays.fill(values, null);
+        while (true) {
+            while (next == ' ' || next == '\t') {
+                next = read();
+            }
+            fieldLength = 0;
+            if (next == '"') {
+                next = readQuoted();
+            }
+            while (next != ',' && next != '\r' && next != '\n' && next != END_OF_INPUT) {
+                append(next);
+                next = read();
+            }
+            endField();
+            if (next != ',') {
+                endLine(next);
+                return true;
+            }
+            next = read();
+        }
+    }
+
+    /**
+     * Reads quoted part of field, opening quote is already consumed.
+     * @return first byte after closing quote, end of input when quote is not closed, then error is set
+     */
+    private int readQuoted() throws IOException {
+        long quoteLine = line;
+        while (true) {
+            int next = read();
+            if (next == END_OF_INPUT) {
+                error = new CsvLineError(quoteLine, ExceptionMessage.CSV_QUOTE_NOT_CLOSED);
+                return END_OF_INPUT;
+            }
+            if (next == '"') {
+                next = read();
+                if (next != '"') {
+                    return next;
+                }
+            } else if (next == '\n') {
+                line++;
+            }
+            append(next);
+        }
+    }
+
+    /**
+     * Consumes rest of line break, CRLF counts as one.
+     */
+    private void endLine(int lineBreak) throws IOException {
+        if (lineBreak == END_OF_INPUT) {
+            return;
+        }
+        line++;
+        if (lineBreak == '\r' && peek() == '\n') {
+            position++;
+        }
+    }
+
+    private void endField() {
+        if (headerNames != null) {
+            headerNames.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8));
+        } else if (fieldCount < columnCount && columnSlots[fieldCount] >= 0) {
+            values[columnSlots[fieldCount]] = new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+        }
+        fieldCount++;
+    }
+
+    private void append(int next) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = (byte) next;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return END_OF_INPUT;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return END_OF_INPUT;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    /**
+     * Refills buffer once it was consumed.
+     * @return false when input ended
+     */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read = input.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = input.read(buffer, 0, buffer.length);
+        }
+        bufferStart += limit;
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
@@ -0,0 +1,384 @@
+package michal.malek.remitlytask.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.configuration.properties.ImportProperties;
+import michal.malek.remitlytask.directory.DirectorySnapshotStore;
+import michal.malek.remitlytask.directory.SnapshotFingerprint;
+import michal.malek.remitlytask.directory.SwiftCodeSet;
+import michal.malek.remitlytask.directory.SwiftDirectory;
+import michal.malek.remitlytask.exception.BulkOperationException;
+import michal.malek.remitlytask.metrics.ImportMetrics;
+import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
+import michal.malek.remitlytask.model.import_report.BatchReport;
+import michal.malek.remitlytask.model.import_report.ImportProgress;
+import michal.malek.remitlytask.model.import_report.ImportReport;
+import michal.malek.remitlytask.model.import_report.ImportState;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Service responsible for importing Swift data from CSV.
+ * CSV may be split into multiple, compressed parts, they are decompressed while read.
+ * Plain CSV file is parsed by multiple threads, records are handed over in file order
+ * and streamed in batches which are upserted concurrently by BulkUpsertService.
+ * Number of batches in flight is limited, so memory used by import stays bounded
+ * by batch size and concurrency, regardless of file size.
+ * Import is incremental: unchanged records are skipped and records missing in CSV are deleted,
+ * only swift codes seen in CSV are kept for that, packed into 8 bytes each.
+ * Import runs in background, so startup does not wait for it, its progress is exposed for readiness checks.
+ * With spring.threads.virtual.enabled import threads are virtual, concurrency is still bounded by pool size.
+ * When neither CSV nor DB changed since last import, directory is restored from snapshot and import is skipped.
+ * Changed CSV sources are detected periodically and imported again without restart.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SwiftDataImportService {
+    private final CsvSourceResolver csvSourceResolver;
+    private final CsvService csvService;
+    private final BulkUpsertService bulkUpsertService;
+    private final SwiftDataService swiftDataService;
+    private final ImportProperties importProperties;
+    private final Environment environment;
+    private final ImportMetrics importMetrics;
+    private final DataRevisionService dataRevisionService;
+    private final DirectorySnapshotStore directorySnapshotStore;
+    private final SwiftDirectory swiftDirectory;
+
+    @Getter
+    private final ImportProgress progress = new ImportProgress();
+    private ExecutorService backgroundExecutor;
+
+    /**
+     * Tells if import is running, startup and scheduled imports skip while it is.
+     * Not a monitor, so virtual thread running import does not pin its carrier.
+     */
+    private final AtomicBoolean importInProgress = new AtomicBoolean();
+
+    /**
+     * Modification times and lengths of sources of last successful import, or of unchanged sources checked since.
+     * Null after failed import, so next check retries it.
+     */
+    private volatile List<String> checkedSourcesStamp;
+
+    /**
+     * Checksum of sources of last successful import, null until it succeeded and after failed one.
+     */
+    private volatile Long importedCsvChecksum;
+
+    /**
+     * Starts import from CSV in background once application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initSwiftFromCsv(){
+        backgroundExecutor = Executors.newSingleThreadExecutor(threadFactory("swift-import-main-"));
+        backgroundExecutor.submit(() -> runImport(null));
+    }
+
+    /**
+     * Checks CSV sources periodically and imports them again once they changed, without restart.
+     * Sources are compared by modification time and length first, checksum is computed only when they differ,
+     * so touched but unchanged files are not imported, checksum is then passed to import instead of read again.
+     * Import is incremental and directory
+     * is swapped at once when it finished, readers keep using current one until then.
+     * Import runs on scheduler thread, so next check waits for it, check is skipped while startup import runs.
+     */
+    @Scheduled(fixedDelayString = "${swift.import.reload-interval:1m}",
+            initialDelayString = "${swift.import.reload-interval:1m}")
+    public void reloadIfSourcesChanged(){
+        ImportState state = progress.getState();
+        if (!importProperties.isReloadEnabled() || importInProgress.get()
+                || state == ImportState.PENDING || state == ImportState.RUNNING) {
+            return;
+        }
+        CheckedSources changedSources;
+        try {
+            List<Resource> sources = csvSourceResolver.resolveSources();
+            List<String> sourcesStamp = stampOf(sources);
+            if (sourcesStamp.equals(checkedSourcesStamp)) {
+                return;
+            }
+            long csvChecksum = csvService.checksum(sources);
+            if (Long.valueOf(csvChecksum).equals(importedCsvChecksum)) {
+                checkedSourcesStamp = sourcesStamp;
+                return;
+            }
+            changedSources = new CheckedSources(sources, sourcesStamp, csvChecksum);
+        } catch (Exception e) {
+            log.warn("Failed to check swift csv sources for changes", e);
+            return;
+        }
+        log.info("Swift csv sources changed, importing them again");
+        runImport(changedSources);
+    }
+
+    @PreDestroy
+    private void shutdown(){
+        if (backgroundExecutor != null) {
+            backgroundExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs import unless another one is running already.
+     * @param checkedSources sources already resolved and checksummed, null to resolve them when import starts
+     */
+    private void runImport(CheckedSources checkedSources){
+        if (!importInProgress.compareAndSet(false, true)) {
+            log.info("Swift import is already running, skipped");
+            return;
+        }
+        try {
+            importAndReload(checkedSources);
+        } finally {
+            importInProgress.set(false);
+        }
+    }
+
+    /**
+     * Imports CSV sources into DB and reloads directory from it.
+     * Institution prefixes missing in records stored by earlier versions are backfilled first.
+     * On startup directory is restored from snapshot instead, when neither CSV nor DB changed since it was written.
+     * Otherwise only new and changed records are upserted, in concurrent batches retried on failure,
+     * and imported records missing in CSV are pruned, see importCsv.
+     * Directory is reloaded after import, until then reads are served from DB or from previous directory.
+     * Fingerprint of snapshot is read before reload, so writes racing with it only make snapshot stale.
+     * Failure is recorded in progress and makes next check import again.
+     * @param checkedSources sources already resolved and checksummed, null to resolve them now
+     */
+    private void importAndReload(CheckedSources checkedSources){
+        progress.start();
+        try {
+            long backfilledCount = bulkUpsertService.backfillInstitutionPrefixes();
+            if (backfilledCount > 0) {
+                log.info("Backfilled institution prefix of {} swift records", backfilledCount);
+                dataRevisionService.increment();
+            }
+            CheckedSources checked = checkedSources != null ? checkedSources : checkSources();
+            List<Resource> sources = checked.sources();
+            List<String> sourcesStamp = checked.stamp();
+            long csvChecksum = checked.checksum();
+            if (!swiftDirectory.isLoaded() && restoreSnapshot(csvChecksum)) {
+                checkedSourcesStamp = sourcesStamp;
+                importedCsvChecksum = csvChecksum;
+                return;
+            }
+            ImportReport report = importCsv(sources);
+            log.info("Imported {} swift records in {} batches within {} ms (unchanged {}, upserted {}, modified {}, removed {})",
+                    report.getRecordCount(), report.getBatches().size(), report.getDurationMillis(),
+                    report.getUnchangedCount(), report.getUpsertedCount(), report.getModifiedCount(),
+                    report.getRemovedCount());
+            importMetrics.recordImport(report);
+            if (report.getUpsertedCount() + report.getModifiedCount() + report.getRemovedCount() > 0) {
+                dataRevisionService.increment();
+            }
+            SnapshotFingerprint fingerprint = fingerprint(csvChecksum);
+            swiftDataService.reloadDirectory();
+            directorySnapshotStore.save(fingerprint);
+            checkedSourcesStamp = sourcesStamp;
+            importedCsvChecksum = csvChecksum;
+            progress.complete(report);
+        } catch (Exception e) {
+            // DB may hold part of failed import, so next check imports again even if sources were not touched
+            checkedSourcesStamp = null;
+            importedCsvChecksum = null;
+            log.error(String.format(ExceptionMessage.IMPORT_FAILURE, new Date()), e);
+            progress.fail(e);
+        }
+    }
+
+    /**
+     * Loads directory from snapshot when it was built from current CSV and DB.
+     * @return true when directory was restored and import can be skipped
+     */
+    private boolean restoreSnapshot(long csvChecksum){
+        long start = System.nanoTime();
+        if (!directorySnapshotStore.restore(fingerprint(csvChecksum))) {
+            return false;
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Restored {} swift records from snapshot within {} ms, import skipped",
+                swiftDirectory.size(), durationMillis);
+        progress.complete(new ImportReport(swiftDirectory.size(), durationMillis, List.of(), 0));
+        return true;
+    }
+
+    /**
+     * Resolves sources and reads their content once to checksum it.
+     */
+    private CheckedSources checkSources() throws IOException {
+        List<Resource> sources = csvSourceResolver.resolveSources();
+        return new CheckedSources(sources, stampOf(sources), csvService.checksum(sources));
+    }
+
+    /**
+     * Describes sources cheaply, without reading their content.
+     */
+    private List<String> stampOf(List<Resource> sources) throws IOException {
+        List<String> sourcesStamp = new ArrayList<>(sources.size());
+        for (Resource source : sources) {
+            sourcesStamp.add(source.getDescription() + '@' + source.lastModified() + '/' + source.contentLength());
+        }
+        return sourcesStamp;
+    }
+
+    /**
+     * Sources with stamp and checksum of their content.
+     */
+    private record CheckedSources(List<Resource> sources, List<String> stamp, long checksum) {
+    }
+
+    private SnapshotFingerprint fingerprint(long csvChecksum){
+        return new SnapshotFingerprint(csvChecksum, dataRevisionService.currentRevision(),
+                dataRevisionService.recordCount());
+    }
+
+    /**
+     * Streams CSV parts of all sources, upserts their new and changed records concurrently
+     * and deletes previously imported records missing in all of them.
+     * @param sources CSV sources resolved by CsvSourceResolver, imported in order
+     * @return report with timings and counts of every batch
+     * @throws BulkOperationException when any batch failed after all retries
+     */
+    public ImportReport importCsv(List<Resource> sources){
+        long start = System.nanoTime();
+        int concurrency = importProperties.getConcurrency();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, threadFactory("swift-import-"));
+        Semaphore batchesInFlight = new Semaphore(concurrency * 2);
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        List<CompletableFuture<BatchReport>> batches = new ArrayList<>();
+        SwiftCodeSet importedCodes = new SwiftCodeSet();
+        try {
+            Consumer<List<SwiftDataDoc>> batchSubmitter = docsChunk -> {
+                if (firstFailure.get() != null) {
+                    throw new CompletionException(firstFailure.get());
+                }
+                docsChunk.forEach(swiftDataDoc -> importedCodes.add(swiftDataDoc.getSwiftCode()));
+                progress.recordsRead(docsChunk.size());
+                CompletableFuture<BatchReport> batch = submitBatch(batches.size(), docsChunk, executor, batchesInFlight);
+                batches.add(batch.whenComplete((report, failure) -> {
+                    if (failure != null) {
+                        firstFailure.compareAndSet(null, failure);
+                    }
+                }));
+            };
+            long recordCount = 0;
+            for (Resource source : sources) {
+                for (Resource part : csvSourceResolver.parts(source)) {
+                    log.info("Importing swift records from {}", part.getDescription());
+                    recordCount += csvService.parallelStreamSwiftData(part, importProperties.getBatchSize(),
+                            parseParallelism(), importProperties.getParseRangeSize().toBytes(),
+                            importProperties.getParseBufferSize().toBytes(), batchSubmitter);
+                }
+            }
+            List<BatchReport> batchReports = awaitBatches(batches);
+            long removedCount = pruneRemoved(recordCount, importedCodes);
+            long durationMillis = (System.nanoTime() - start) / 1_000_000;
+            return new ImportReport(recordCount, durationMillis, batchReports, removedCount);
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for free slot and hands batch over to executor.
+     * Waiting blocks CSV reading, which keeps number of parsed but not stored records bounded.
+     */
+    private CompletableFuture<BatchReport> submitBatch(int batchIndex, List<SwiftDataDoc> swiftDataDocs,
+                                                       ExecutorService executor, Semaphore batchesInFlight){
+        acquire(batchesInFlight);
+        return CompletableFuture
+                .supplyAsync(() -> bulkUpsertService.upsertBatch(batchIndex, swiftDataDocs), executor)
+                .whenComplete((report, failure) -> {
+                    batchesInFlight.release();
+                    if (failure == null) {
+                        progress.batchCompleted();
+                        importMetrics.recordBatch(report);
+                    }
+                });
+    }
+
+    /**
+     * Deletes records missing in CSV, skipped for empty CSV so a broken source never wipes DB.
+     */
+    private long pruneRemoved(long recordCount, SwiftCodeSet importedCodes){
+        if (!importProperties.isPruneRemoved() || recordCount == 0) {
+            return 0;
+        }
+        return bulkUpsertService.deleteImportedExcept(importedCodes);
+    }
+
+    private List<BatchReport> awaitBatches(List<CompletableFuture<BatchReport>> batches){
+        return batches.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * Extracts failure of batch from CompletionException.
+     */
+    private BulkOperationException unwrap(CompletionException e){
+        Throwable cause = e.getCause() instanceof CompletionException nested ? nested.getCause() : e.getCause();
+        if (cause instanceof BulkOperationException bulkOperationException) {
+            return bulkOperationException;
+        }
+        String message = String.format(ExceptionMessage.BULK_OPERATION_FAILURE, new Date());
+        return new BulkOperationException(message, cause);
+    }
+
+    private int parseParallelism(){
+        int parseParallelism = importProperties.getParseParallelism();
+        return parseParallelism > 0 ? parseParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    private void acquire(Semaphore batchesInFlight){
+        try {
+            batchesInFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String message = String.format(ExceptionMessage.IMPORT_INTERRUPTED, new Date());
+            throw new BulkOperationException(message, e);
+        }
+    }
+
+    /**
+     * Creates factory of virtual threads when they are enabled, otherwise of daemon platform threads.
+     */
+    private ThreadFactory threadFactory(String namePrefix){
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name(namePrefix, 1).factory();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,8 +1,15 @@
 package michal.malek.remitlytask.service;
 
-import jakarta.annotation.PostConstruct;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import michal.malek.remitlytask.cache.CachedJson;
+import michal.malek.remitlytask.cache.CountrySnapshotCache;
+import michal.malek.remitlytask.cache.JsonResponseCache;
+import michal.malek.remitlytask.directory.Institution;
+import michal.malek.remitlytask.directory.SwiftDirectory;
 import michal.malek.remitlytask.exception.BulkOperationException;
 import michal.malek.remitlytask.exception.SwiftDataAlreadyExistsException;
 import michal.malek.remitlytask.exception.SwiftDataNotFoundException;
@@ -11,92 +18,167 @@ import michal.malek.remitlytask.mapper.SwiftDataMapper;
 import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
 import michal.malek.remitlytask.model.constant.messages.ExceptionMessage;
 import michal.malek.remitlytask.model.constant.messages.SuccessMessage;
-import michal.malek.remitlytask.model.constant.messages.ValidationMessage;
 import michal.malek.remitlytask.model.standard.StandardizedSuccessResponse;
-import michal.malek.remitlytask.model.swift_data.SwiftDataCsv;
 import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
 import michal.malek.remitlytask.model.swift_data.request.SwiftDataRequest;
+import michal.malek.remitlytask.model.swift_data.response.BatchLookupResponse;
 import michal.malek.remitlytask.model.swift_data.response.BranchResponse;
+import michal.malek.remitlytask.model.swift_data.response.BulkItemResult;
+import michal.malek.remitlytask.model.swift_data.response.BulkItemStatus;
+import michal.malek.remitlytask.model.swift_data.response.BulkWriteResponse;
+import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataPageResponse;
 import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataResponse;
 import michal.malek.remitlytask.model.swift_data.response.HeadquarterAndBranchesResponse;
 import michal.malek.remitlytask.repository.SwiftDataRepository;
-import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service responsible for operations on Swift data.
+ * Package-private helpers are shared with ReactiveSwiftDataService.
+ * Every method called through Spring proxy is timed as swift.service, tagged by method name.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Timed("swift.service")
 public class SwiftDataService {
-    private final Resource resource;
-    private final CsvService csvService;
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
     private final SwiftDataRepository swiftDataRepository;
-    private final SwiftDataPersistenceMapper swiftDataPersistenceMapper;
     private final SwiftDataMapper swiftDataMapper;
+    private final SwiftDataPersistenceMapper swiftDataPersistenceMapper;
     private final MongoTemplate mongoTemplate;
+    private final SwiftDirectory swiftDirectory;
+    private final CountrySnapshotCache countrySnapshotCache;
+    private final JsonResponseCache jsonResponseCache;
+    private final ObjectMapper objectMapper;
+    private final DataRevisionService dataRevisionService;
 
     /**
-     * Responsible for inserting data from CSV.
-     * I used BulkOperations to reduce the number of round-trips to MongoDB by
-     * aggregating multiple operations into a single request, which improves performance.
+     * Reloads in-memory directory from DB and drops all cached responses.
+     * DB is streamed in swift code order and packed record by record, so no list of all records is held,
+     * but current directory and packed arrays of reloaded one are, heap has to fit about twice the directory.
+     * Current directory serves reads and writes until reloaded one replaces it at once.
      */
-    @PostConstruct
-    private void initSwiftFromCsv(){
-        List<SwiftDataCsv> csv = getCsv();
-        List<SwiftDataDoc> swiftDataDocs = swiftDataMapper.swiftCsvListToDocsList(csv);
-
-        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftDataDoc.class);
-
-        for (SwiftDataDoc doc : swiftDataDocs) {
-            Query query = swiftDataPersistenceMapper.createQueryForDoc(doc);
-            Update update = swiftDataPersistenceMapper.mapToUpdate(doc);
-            bulkOps.upsert(query, update);
-        }
-
-        try {
-            bulkOps.execute();
-        } catch (Exception e) {
-            String message = String.format(ExceptionMessage.BULK_OPERATION_FAILURE, new Date());
-            log.error(message, e);
-            throw new BulkOperationException(message, e);
-        }
+    public void reloadDirectory(){
+        swiftDirectory.loadStream(() -> mongoTemplate.stream(
+                swiftDataPersistenceMapper.createQueryForAllInCodeOrder(), SwiftDataDoc.class));
+        countrySnapshotCache.invalidateAll();
+        jsonResponseCache.invalidateAll();
     }
 
     /**
      * Gets headquarter Swift data with branches if applicable.
+     * While directory is not loaded, headquarters and its branches are read from DB with single query.
      * @param swiftCode the Swift code
      * @return Headquarters with details and branches
      */
     public HeadquarterAndBranchesResponse getSwiftDataWithBranches(String swiftCode){
+        if(!swiftDirectory.isLoaded() && swiftCode.endsWith("XXX")){
+            List<SwiftDataDoc> institutionDocs = swiftDataRepository.findByInstitutionPrefix(Institution.prefixOf(swiftCode));
+            SwiftDataDoc swiftData = institutionDocs.stream()
+                    .filter(doc -> swiftCode.equals(doc.getSwiftCode()))
+                    .findFirst()
+                    .orElseThrow(() -> new SwiftDataNotFoundException(String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND, swiftCode)));
+            List<SwiftDataDoc> branches = institutionDocs.stream()
+                    .filter(doc -> !doc.isHeadquarter())
+                    .toList();
+            return toHeadquarterResponse(swiftData, branches);
+        }
         SwiftDataDoc swiftData = getBySwift(swiftCode);
-        HeadquarterAndBranchesResponse headquarterResponse = swiftDataMapper.swiftDocToHeadquarter(swiftData);
+        List<SwiftDataDoc> branches = swiftData.isHeadquarter() ? getBranchesByHeadquartersSwift(swiftCode) : List.of();
+        return toHeadquarterResponse(swiftData, branches);
+    }
 
-        if(swiftData.isHeadquarter()){
-            List<SwiftDataDoc> branches = getBranchesByHeadquartersSwift(swiftCode);
-            List<BranchResponse> branchResponses = swiftDataMapper.swiftDocListToResponseList(branches);
-            headquarterResponse.setBranches(branchResponses);
-            return headquarterResponse;
+    /**
+     * Gets serialized headquarter Swift data with branches.
+     * Cached bytes are reused once directory is loaded, until a write touches the record.
+     * @param swiftCode the Swift code
+     * @return JSON of HeadquarterAndBranchesResponse
+     */
+    public CachedJson getSwiftDataWithBranchesJson(String swiftCode){
+        if(swiftDirectory.isLoaded()){
+            return jsonResponseCache.getSwiftCode(swiftCode, () -> getSwiftDataWithBranches(swiftCode));
         }
-        return headquarterResponse;
+        return jsonResponseCache.serialize(getSwiftDataWithBranches(swiftCode));
+    }
+
+    /**
+     * Resolves many swift codes at once.
+     * Served from directory once it is loaded, otherwise with one query for records
+     * and one query for branches of all requested headquarters.
+     * @param swiftCodes swift codes, duplicates are resolved once
+     * @return found records keyed by swift code in request order, and codes which were not found
+     */
+    public BatchLookupResponse batchLookup(List<String> swiftCodes){
+        Set<String> requestedCodes = new LinkedHashSet<>(swiftCodes);
+        Map<String, SwiftDataDoc> foundDocs = new LinkedHashMap<>();
+        Map<String, List<SwiftDataDoc>> branchesByPrefix;
+
+        if(swiftDirectory.isLoaded()){
+            requestedCodes.forEach(swiftCode -> swiftDirectory.find(swiftCode)
+                    .ifPresent(doc -> foundDocs.put(swiftCode, doc)));
+            branchesByPrefix = headquarterPrefixes(foundDocs).stream()
+                    .collect(Collectors.toMap(Function.identity(), swiftDirectory::findBranches));
+        } else {
+            swiftDataRepository.findAllById(requestedCodes)
+                    .forEach(doc -> foundDocs.put(doc.getSwiftCode(), doc));
+            branchesByPrefix = findBranchesOfPrefixes(headquarterPrefixes(foundDocs));
+        }
+
+        Map<String, HeadquarterAndBranchesResponse> results = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        for (String swiftCode : requestedCodes) {
+            SwiftDataDoc swiftData = foundDocs.get(swiftCode);
+            if (swiftData == null) {
+                notFound.add(swiftCode);
+                continue;
+            }
+            List<SwiftDataDoc> branches = branchesByPrefix.getOrDefault(Institution.prefixOf(swiftCode), List.of());
+            results.put(swiftCode, toHeadquarterResponse(swiftData, branches));
+        }
+        return BatchLookupResponse.builder()
+                .results(results)
+                .notFound(notFound)
+                .build();
     }
 
     /**
      * Retrieves country Swift data by ISO2 code.
+     * Served from precomputed snapshot once directory is loaded.
      * If none found, throws SwiftDataNotFoundException.
      * @param countryISO2Code the 2-letter country code
      * @return CountrySwiftDataResponse with country and Swift data
      * @throws SwiftDataNotFoundException if no data is found
      */
     public CountrySwiftDataResponse getCountrySwiftData(String countryISO2Code){
+        if(swiftDirectory.isLoaded()){
+            return countrySnapshotCache.get(countryISO2Code)
+                    .orElseThrow(() -> new SwiftDataNotFoundException(
+                            String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND_ISO2, countryISO2Code)));
+        }
         List<SwiftDataDoc> byCountryISO2 = swiftDataRepository.findByCountryISO2(countryISO2Code);
         if(byCountryISO2.isEmpty()){
             String message = String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND_ISO2, countryISO2Code);
@@ -109,60 +191,298 @@ public class SwiftDataService {
                 .build();
     }
 
+    /**
+     * Gets serialized country Swift data.
+     * Cached bytes are reused once directory is loaded, until a write touches the country.
+     * @param countryISO2Code the 2-letter country code
+     * @return JSON of CountrySwiftDataResponse
+     */
+    public CachedJson getCountrySwiftDataJson(String countryISO2Code){
+        if(swiftDirectory.isLoaded()){
+            return jsonResponseCache.getCountry(countryISO2Code, () -> getCountrySwiftData(countryISO2Code));
+        }
+        return jsonResponseCache.serialize(getCountrySwiftData(countryISO2Code));
+    }
+
+    /**
+     * Retrieves page of country Swift data, using swift code of last record of previous page as cursor.
+     * Page is read by keyset query on {countryISO2, _id} index, or from directory once it is loaded,
+     * so cost of a page does not depend on its position.
+     * @param countryISO2Code the 2-letter country code
+     * @param afterSwiftCode cursor, null for first page
+     * @param limit maximal number of records on page
+     * @return page with cursor of next page, which is null on last page
+     * @throws SwiftDataNotFoundException if country has no data
+     */
+    public CountrySwiftDataPageResponse getCountrySwiftDataPage(String countryISO2Code, String afterSwiftCode, int limit){
+        List<SwiftDataDoc> page = swiftDirectory.isLoaded()
+                ? swiftDirectory.findByCountryAfter(countryISO2Code, afterSwiftCode, limit + 1)
+                : mongoTemplate.find(swiftDataPersistenceMapper.createQueryForCountryPage(countryISO2Code, afterSwiftCode, limit + 1),
+                        SwiftDataDoc.class);
+        if(page.isEmpty() && afterSwiftCode == null){
+            String message = String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND_ISO2, countryISO2Code);
+            throw new SwiftDataNotFoundException(message);
+        }
+        boolean hasNext = page.size() > limit;
+        List<SwiftDataDoc> pageDocs = hasNext ? page.subList(0, limit) : page;
+        return CountrySwiftDataPageResponse.builder()
+                .countryISO2(countryISO2Code)
+                .countryName(pageDocs.isEmpty() ? null : pageDocs.get(0).getCountryName())
+                .swiftCodes(swiftDataMapper.swiftDocListToResponseList(pageDocs))
+                .nextCursor(hasNext ? pageDocs.get(pageDocs.size() - 1).getSwiftCode() : null)
+                .build();
+    }
+
+    /**
+     * Gets serialized page of country Swift data, pages are not cached.
+     * @param countryISO2Code the 2-letter country code
+     * @param afterSwiftCode cursor, null for first page
+     * @param limit maximal number of records on page
+     * @return JSON of CountrySwiftDataPageResponse
+     */
+    public CachedJson getCountrySwiftDataPageJson(String countryISO2Code, String afterSwiftCode, int limit){
+        return jsonResponseCache.serialize(getCountrySwiftDataPage(countryISO2Code, afterSwiftCode, limit));
+    }
+
+    /**
+     * Checks that country has data, called before streaming starts, so missing country still ends with 404.
+     * @param countryISO2Code the 2-letter country code
+     * @throws SwiftDataNotFoundException if country has no data
+     */
+    public void checkCountryExists(String countryISO2Code){
+        boolean exists = swiftDirectory.isLoaded()
+                ? !swiftDirectory.viewByCountry(countryISO2Code).isEmpty()
+                : swiftDataRepository.existsByCountryISO2(countryISO2Code);
+        if(!exists){
+            String message = String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND_ISO2, countryISO2Code);
+            throw new SwiftDataNotFoundException(message);
+        }
+    }
+
+    /**
+     * Writes all Swift data of a country as newline delimited JSON, one BranchResponse per line.
+     * Records are taken from live directory view or from MongoDB cursor, never collected into a list,
+     * so memory per request stays constant regardless of country size.
+     * @param countryISO2Code the 2-letter country code
+     * @param outputStream response body
+     * @throws IOException when writing to client fails
+     */
+    public void writeCountrySwiftData(String countryISO2Code, OutputStream outputStream) throws IOException {
+        if(swiftDirectory.isLoaded()){
+            for (SwiftDataDoc swiftDataDoc : swiftDirectory.viewByCountry(countryISO2Code)) {
+                writeLine(swiftDataDoc, outputStream);
+            }
+            return;
+        }
+        Query countryQuery = swiftDataPersistenceMapper.createQueryForCountry(countryISO2Code);
+        try (Stream<SwiftDataDoc> swiftDataDocs = mongoTemplate.stream(countryQuery, SwiftDataDoc.class)) {
+            Iterator<SwiftDataDoc> iterator = swiftDataDocs.iterator();
+            while (iterator.hasNext()) {
+                writeLine(iterator.next(), outputStream);
+            }
+        }
+    }
+
     /**
      * Adds new record of swift data to DB.
+     * Insert fails on unique _id, so existence is checked in the same round-trip and concurrent adds can't race.
+     * @throws SwiftDataAlreadyExistsException when record with the same swift code exists
      * @param request SwiftDataRequest
      * @return success message
      */
     public StandardizedSuccessResponse addSwiftData(SwiftDataRequest request){
         validateSwiftDataRequest(request);
         SwiftDataDoc swiftDataDoc = swiftDataMapper.swiftRequestToDoc(request);
-        swiftDataRepository.save(swiftDataDoc);
+        try {
+            swiftDataRepository.insert(swiftDataDoc);
+        } catch (DuplicateKeyException e) {
+            throw new SwiftDataAlreadyExistsException(
+                    String.format(ExceptionMessage.SWIFT_CODE_ALREADY_EXISTS, swiftDataDoc.getSwiftCode()));
+        }
+        applyStored(swiftDataDoc);
+        dataRevisionService.increment();
         String message = String.format(SuccessMessage.SWIFT_DATA_ADDITION_SUCCESS, swiftDataDoc.getSwiftCode());
         return new StandardizedSuccessResponse(message);
     }
 
     /**
      * Deletes swift data by code from DB.
+     * Missing record is recognized by deleted count, so delete takes single round-trip.
      * @throws SwiftDataNotFoundException when data is not found
      * @param swiftCode swift code
      * @return success message
      */
     public StandardizedSuccessResponse deleteSwiftData(String swiftCode){
-        if(!swiftDataRepository.existsById(swiftCode)){
+        Query swiftCodeQuery = swiftDataPersistenceMapper.createQueryForCode(swiftCode);
+        if(mongoTemplate.remove(swiftCodeQuery, SwiftDataDoc.class).getDeletedCount() == 0){
             String message = String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND, swiftCode);
             throw new SwiftDataNotFoundException(message);
         }
-        swiftDataRepository.deleteById(swiftCode);
+        applyRemoved(swiftCode);
+        dataRevisionService.increment();
         String message = String.format(SuccessMessage.SWIFT_DATA_DELETE_SUCCESS, swiftCode);
         return new StandardizedSuccessResponse(message);
     }
 
     /**
-     * Validates if XXX is used properly and if there is no record in DB with the same Swift code.
-     * @param request SwiftDataRequest
+     * Adds many records of swift data with single bulk insert.
+     * Records are validated in memory and checked against DB with one query,
+     * rejection of one record does not stop the others.
+     * @param requests records to add
+     * @return outcome of every record in request order
      */
-    private void validateSwiftDataRequest(SwiftDataRequest request){
-        String swiftCode = request.getSwiftCode();
-        boolean isHeadquarters = request.getIsHeadquarter();
+    public BulkWriteResponse addSwiftDataBulk(List<SwiftDataRequest> requests){
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            SwiftDataRequest request = requests.get(i);
+            String swiftCode = request.getSwiftCode();
+            if (!isXXXUsedProperly(request)) {
+                results[i] = new BulkItemResult(swiftCode, BulkItemStatus.INVALID, ExceptionMessage.WRONG_XXX_USE);
+            } else if (candidates.putIfAbsent(swiftCode, i) != null) {
+                results[i] = new BulkItemResult(swiftCode, BulkItemStatus.DUPLICATE_IN_REQUEST,
+                        String.format(ExceptionMessage.SWIFT_CODE_DUPLICATED_IN_REQUEST, swiftCode));
+            }
+        }
 
-        if(swiftCode.endsWith("XXX") != isHeadquarters){
-            throw new SwiftDataNotValidException(ExceptionMessage.WRONG_XXX_USE);
+        Set<String> storedCodes = findStoredCodes(candidates.keySet());
+        List<SwiftDataDoc> docsToInsert = new ArrayList<>();
+        List<Integer> insertedIndexes = new ArrayList<>();
+        candidates.forEach((swiftCode, index) -> {
+            if (storedCodes.contains(swiftCode)) {
+                results[index] = alreadyExists(swiftCode);
+            } else {
+                docsToInsert.add(swiftDataMapper.swiftRequestToDoc(requests.get(index)));
+                insertedIndexes.add(index);
+            }
+        });
+
+        BulkOperations bulkOps = docsToInsert.isEmpty() ? null
+                : mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftDataDoc.class).insert(docsToInsert);
+        Map<Integer, BulkWriteError> writeErrors = executeBulk(bulkOps);
+        if (writeErrors.size() < docsToInsert.size()) {
+            dataRevisionService.increment();
+        }
+        for (int i = 0; i < docsToInsert.size(); i++) {
+            SwiftDataDoc swiftDataDoc = docsToInsert.get(i);
+            String swiftCode = swiftDataDoc.getSwiftCode();
+            BulkWriteError writeError = writeErrors.get(i);
+            if (writeError == null) {
+                applyStored(swiftDataDoc);
+                results[insertedIndexes.get(i)] = new BulkItemResult(swiftCode, BulkItemStatus.ADDED,
+                        String.format(SuccessMessage.SWIFT_DATA_ADDITION_SUCCESS, swiftCode));
+            } else if (writeError.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                results[insertedIndexes.get(i)] = alreadyExists(swiftCode);
+            } else {
+                results[insertedIndexes.get(i)] = new BulkItemResult(swiftCode, BulkItemStatus.FAILED,
+                        String.format(ExceptionMessage.BULK_ITEM_FAILURE, swiftCode, writeError.getMessage()));
+            }
         }
+        return BulkWriteResponse.of(Arrays.asList(results));
+    }
 
-        if (swiftDataRepository.existsById(swiftCode)) {
-            throw new SwiftDataAlreadyExistsException(
-                    String.format(ExceptionMessage.SWIFT_CODE_ALREADY_EXISTS, swiftCode));
+    /**
+     * Deletes many records of swift data with single remove of all stored codes.
+     * Stored codes are read with one query, so missing ones are reported without touching others.
+     * Records are reported deleted only when deleted count matches, otherwise codes still stored are read again,
+     * records gone from DB are removed from memory and reported failed with the mismatch.
+     * @param swiftCodes swift codes to delete
+     * @return outcome of every code in request order
+     */
+    public BulkWriteResponse deleteSwiftDataBulk(List<String> swiftCodes){
+        BulkItemResult[] results = new BulkItemResult[swiftCodes.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < swiftCodes.size(); i++) {
+            String swiftCode = swiftCodes.get(i);
+            if (candidates.putIfAbsent(swiftCode, i) != null) {
+                results[i] = new BulkItemResult(swiftCode, BulkItemStatus.DUPLICATE_IN_REQUEST,
+                        String.format(ExceptionMessage.SWIFT_CODE_DUPLICATED_IN_REQUEST, swiftCode));
+            }
+        }
+
+        Set<String> storedCodes = findStoredCodes(candidates.keySet());
+        List<String> codesToDelete = new ArrayList<>();
+        candidates.forEach((swiftCode, index) -> {
+            if (storedCodes.contains(swiftCode)) {
+                codesToDelete.add(swiftCode);
+            } else {
+                results[index] = new BulkItemResult(swiftCode, BulkItemStatus.NOT_FOUND,
+                        String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND, swiftCode));
+            }
+        });
+
+        if (codesToDelete.isEmpty()) {
+            return BulkWriteResponse.of(Arrays.asList(results));
+        }
+        long deletedCount = removeCodes(codesToDelete);
+        if (deletedCount > 0) {
+            dataRevisionService.increment();
+        }
+        Set<String> remainingCodes = deletedCount == codesToDelete.size() ? Set.of() : findStoredCodes(codesToDelete);
+        boolean deleteConfirmed = deletedCount + remainingCodes.size() == codesToDelete.size();
+        if (!deleteConfirmed) {
+            log.warn("Bulk delete removed {} of {} swift codes, {} are still stored",
+                    deletedCount, codesToDelete.size(), remainingCodes.size());
+        }
+        for (String swiftCode : codesToDelete) {
+            if (!remainingCodes.contains(swiftCode)) {
+                applyRemoved(swiftCode);
+            }
+            if (deleteConfirmed && !remainingCodes.contains(swiftCode)) {
+                results[candidates.get(swiftCode)] = new BulkItemResult(swiftCode, BulkItemStatus.DELETED,
+                        String.format(SuccessMessage.SWIFT_DATA_DELETE_SUCCESS, swiftCode));
+            } else {
+                results[candidates.get(swiftCode)] = new BulkItemResult(swiftCode, BulkItemStatus.FAILED,
+                        String.format(ExceptionMessage.BULK_DELETE_COUNT_MISMATCH, swiftCode, deletedCount, codesToDelete.size()));
+            }
         }
+        return BulkWriteResponse.of(Arrays.asList(results));
     }
 
     /**
-     * Retrieves SwiftDataDoc from db.
+     * Applies stored record to in-memory read structures.
+     * @param swiftDataDoc record stored in DB
+     */
+    void applyStored(SwiftDataDoc swiftDataDoc){
+        swiftDirectory.put(swiftDataDoc);
+        countrySnapshotCache.invalidate(swiftDataDoc.getCountryISO2());
+        jsonResponseCache.invalidateRecord(swiftDataDoc.getSwiftCode(), swiftDataDoc.getCountryISO2());
+    }
+
+    /**
+     * Applies removal of record to in-memory read structures.
+     * Country is unknown when directory no longer holds the record, then cached responses of all countries are dropped.
+     * @param swiftCode swift code of record deleted from DB
+     */
+    void applyRemoved(String swiftCode){
+        String countryISO2 = swiftDirectory.remove(swiftCode)
+                .map(SwiftDataDoc::getCountryISO2)
+                .orElse(null);
+        countrySnapshotCache.invalidate(countryISO2);
+        jsonResponseCache.invalidateRecord(swiftCode, countryISO2);
+    }
+
+    /**
+     * Validates if XXX is used properly.
+     * Uniqueness of Swift code is enforced by insert itself.
+     * @param request SwiftDataRequest
+     */
+    void validateSwiftDataRequest(SwiftDataRequest request){
+        if(!isXXXUsedProperly(request)){
+            throw new SwiftDataNotValidException(ExceptionMessage.WRONG_XXX_USE);
+        }
+    }
+
+    /**
+     * Retrieves SwiftDataDoc from in-memory directory, or from db while directory is not loaded yet.
      * @param swiftCode Swift code
      * @return SwiftDataDoc
      */
     private SwiftDataDoc getBySwift(String swiftCode){
-        return swiftDataRepository.findById(swiftCode)
+        Optional<SwiftDataDoc> swiftData = swiftDirectory.isLoaded()
+                ? swiftDirectory.find(swiftCode)
+                : swiftDataRepository.findById(swiftCode);
+        return swiftData
                 .orElseThrow(() -> new SwiftDataNotFoundException(String.format(ExceptionMessage.SWIFT_DATA_NOT_FOUND, swiftCode)));
     }
 
@@ -172,16 +492,126 @@ public class SwiftDataService {
      * @return list of branches (SwiftDataDoc)
      */
     private List<SwiftDataDoc> getBranchesByHeadquartersSwift(String swiftCode){
-        int SWIFT_PREFIX_LENGTH = 8;
-        String swiftPrefix = swiftCode.substring(0 ,SWIFT_PREFIX_LENGTH);
-        return swiftDataRepository.findBySwiftCodeStartingWithAndIsHeadquarterFalse(swiftPrefix);
+        String swiftPrefix = Institution.prefixOf(swiftCode);
+        if(swiftDirectory.isLoaded()){
+            return swiftDirectory.findBranches(swiftPrefix);
+        }
+        return swiftDataRepository.findByInstitutionPrefixAndIsHeadquarterFalse(swiftPrefix);
     }
 
     /**
-     * Provides List of Swift data.
-     * @return List of SwiftDataCsv
+     * Maps record to response, branches are set for headquarters only.
+     * @param swiftData record
+     * @param branches branches of record
+     * @return HeadquarterAndBranchesResponse
      */
-    private List<SwiftDataCsv> getCsv(){
-        return csvService.readCsv(SwiftDataCsv.class, resource);
+    HeadquarterAndBranchesResponse toHeadquarterResponse(SwiftDataDoc swiftData, List<SwiftDataDoc> branches){
+        HeadquarterAndBranchesResponse headquarterResponse = swiftDataMapper.swiftDocToHeadquarter(swiftData);
+        if(swiftData.isHeadquarter()){
+            List<BranchResponse> branchResponses = swiftDataMapper.swiftDocListToResponseList(branches);
+            headquarterResponse.setBranches(branchResponses);
+        }
+        return headquarterResponse;
+    }
+
+    /**
+     * Collects bank/location prefixes of found headquarters.
+     * @param foundDocs found records
+     * @return distinct prefixes
+     */
+    private Set<String> headquarterPrefixes(Map<String, SwiftDataDoc> foundDocs){
+        return foundDocs.values().stream()
+                .filter(SwiftDataDoc::isHeadquarter)
+                .map(doc -> Institution.prefixOf(doc.getSwiftCode()))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Gets branches of many headquarters with single query.
+     * @param swiftPrefixes bank/location prefixes of headquarters
+     * @return branches grouped by prefix
+     */
+    private Map<String, List<SwiftDataDoc>> findBranchesOfPrefixes(Set<String> swiftPrefixes){
+        if(swiftPrefixes.isEmpty()){
+            return Map.of();
+        }
+        Query branchesQuery = swiftDataPersistenceMapper.createQueryForBranchesOfPrefixes(swiftPrefixes);
+        return mongoTemplate.find(branchesQuery, SwiftDataDoc.class).stream()
+                .collect(Collectors.groupingBy(doc -> Institution.prefixOf(doc.getSwiftCode())));
+    }
+
+    /**
+     * Checks if code ends with XXX exactly when record is headquarters.
+     * @param request SwiftDataRequest
+     * @return true when XXX is used properly
+     */
+    private boolean isXXXUsedProperly(SwiftDataRequest request){
+        return request.getSwiftCode().endsWith("XXX") == request.getIsHeadquarter();
+    }
+
+    /**
+     * Reads which of provided swift codes are stored, with single query.
+     * @param swiftCodes swift codes
+     * @return stored swift codes
+     */
+    private Set<String> findStoredCodes(Collection<String> swiftCodes){
+        if(swiftCodes.isEmpty()){
+            return Set.of();
+        }
+        Query storedCodesQuery = swiftDataPersistenceMapper.createQueryForStoredCodes(swiftCodes);
+        Set<String> storedCodes = new HashSet<>();
+        mongoTemplate.find(storedCodesQuery, SwiftDataDoc.class)
+                .forEach(doc -> storedCodes.add(doc.getSwiftCode()));
+        return storedCodes;
+    }
+
+    /**
+     * Removes records of given codes with single query.
+     * @param swiftCodes swift codes to remove
+     * @return number of removed records
+     * @throws BulkOperationException when remove fails
+     */
+    private long removeCodes(Collection<String> swiftCodes){
+        try {
+            return mongoTemplate.remove(swiftDataPersistenceMapper.createQueryForCodes(swiftCodes), SwiftDataDoc.class)
+                    .getDeletedCount();
+        } catch (Exception e) {
+            String message = String.format(ExceptionMessage.BULK_OPERATION_FAILURE, new Date());
+            log.error(message, e);
+            throw new BulkOperationException(message, e);
+        }
+    }
+
+    /**
+     * Executes unordered bulk operation, so failure of one operation does not stop the others.
+     * @param bulkOps bulk operation, null when there is nothing to execute
+     * @return errors of failed operations keyed by index of operation
+     * @throws BulkOperationException when bulk operation failed as a whole
+     */
+    private Map<Integer, BulkWriteError> executeBulk(BulkOperations bulkOps){
+        if(bulkOps == null){
+            return Map.of();
+        }
+        try {
+            bulkOps.execute();
+            return Map.of();
+        } catch (org.springframework.data.mongodb.BulkOperationException e) {
+            return e.getErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+        } catch (Exception e) {
+            String message = String.format(ExceptionMessage.BULK_OPERATION_FAILURE, new Date());
+            log.error(message, e);
+            throw new BulkOperationException(message, e);
+        }
+    }
+
+    private BulkItemResult alreadyExists(String swiftCode){
+        return new BulkItemResult(swiftCode, BulkItemStatus.ALREADY_EXISTS,
+                String.format(ExceptionMessage.SWIFT_CODE_ALREADY_EXISTS, swiftCode));
+    }
+
+    private void writeLine(SwiftDataDoc swiftDataDoc, OutputStream outputStream) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(swiftDataMapper.swiftDocToResponse(swiftDataDoc)));
+        outputStream.write('\n');
     }
 }
@@ -0,0 +1,102 @@
+package michal.malek.remitlytask.cache;
+
+import michal.malek.remitlytask.directory.SwiftDirectory;
+import michal.malek.remitlytask.mapper.SwiftDataMapper;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.model.swift_data.response.BranchResponse;
+import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests building and invalidation of country snapshots.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CountrySnapshotCacheTest {
+    @Mock private SwiftDataMapper swiftDataMapper;
+
+    private static final String COUNTRY_ISO2 = "PL";
+    private static final String COUNTRY_NAME = "POLAND";
+
+    private SwiftDirectory swiftDirectory;
+    private CountrySnapshotCache countrySnapshotCache;
+
+    @BeforeEach
+    public void setUp() {
+        swiftDirectory = new SwiftDirectory();
+        swiftDirectory.load(List.of(doc("AAAAPLPWXXX")));
+        countrySnapshotCache = new CountrySnapshotCache(swiftDirectory, swiftDataMapper);
+    }
+
+    /**
+     * Snapshot is built once and reused for following requests.
+     */
+    @Test
+    public void testGet_buildsSnapshotOnce() {
+        when(swiftDataMapper.swiftDocListToResponseList(anyList())).thenReturn(List.of(new BranchResponse()));
+
+        CountrySwiftDataResponse first = countrySnapshotCache.get(COUNTRY_ISO2).orElseThrow();
+        CountrySwiftDataResponse second = countrySnapshotCache.get(COUNTRY_ISO2).orElseThrow();
+
+        assertSame(first, second, "Snapshot should be reused");
+        assertEquals(COUNTRY_NAME, first.getCountryName());
+        verify(swiftDataMapper, times(1)).swiftDocListToResponseList(anyList());
+    }
+
+    /**
+     * Invalidated snapshot is rebuilt with current directory content.
+     */
+    @Test
+    public void testInvalidate_rebuildsSnapshot() {
+        when(swiftDataMapper.swiftDocListToResponseList(anyList()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).stream()
+                        .map(doc -> new BranchResponse())
+                        .toList());
+        countrySnapshotCache.get(COUNTRY_ISO2);
+
+        swiftDirectory.put(doc("BBBBPLPWXXX"));
+        countrySnapshotCache.invalidate(COUNTRY_ISO2);
+
+        assertEquals(2, countrySnapshotCache.get(COUNTRY_ISO2).orElseThrow().getSwiftCodes().size(),
+                "Rebuilt snapshot should contain added record");
+    }
+
+    /**
+     * Invalidation of unknown country drops all snapshots.
+     */
+    @Test
+    public void testInvalidate_unknownCountry_dropsAllSnapshots() {
+        when(swiftDataMapper.swiftDocListToResponseList(anyList())).thenReturn(List.of(new BranchResponse()));
+        CountrySwiftDataResponse snapshot = countrySnapshotCache.get(COUNTRY_ISO2).orElseThrow();
+
+        countrySnapshotCache.invalidate(null);
+
+        assertNotSame(snapshot, countrySnapshotCache.get(COUNTRY_ISO2).orElseThrow(), "Snapshot should be rebuilt");
+    }
+
+    /**
+     * Unknown country has no snapshot.
+     */
+    @Test
+    public void testGet_unknownCountry_returnsEmpty() {
+        assertTrue(countrySnapshotCache.get("DE").isEmpty(), "Unknown country should have no snapshot");
+    }
+
+    private static SwiftDataDoc doc(String swiftCode) {
+        return SwiftDataDoc.builder()
+                .swiftCode(swiftCode)
+                .isHeadquarter(true)
+                .countryISO2(COUNTRY_ISO2)
+                .countryName(COUNTRY_NAME)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package michal.malek.remitlytask.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import michal.malek.remitlytask.exception.SwiftDataNotFoundException;
+import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests caching and invalidation of serialized responses.
+ */
+public class JsonResponseCacheTest {
+
+    private static final String COUNTRY_ISO2 = "PL";
+    private static final String BRANCH_SWIFT_CODE = "AAAAPLPW001";
+    private static final String HEADQUARTERS_SWIFT_CODE = "AAAAPLPWXXX";
+
+    private JsonResponseCache jsonResponseCache;
+    private AtomicInteger serializations;
+
+    @BeforeEach
+    public void setUp() {
+        jsonResponseCache = new JsonResponseCache(new ObjectMapper());
+        serializations = new AtomicInteger();
+    }
+
+    /**
+     * Response is serialized once and served as the same bytes with stable ETag.
+     */
+    @Test
+    public void testGetCountry_serializesOnce() {
+        CachedJson first = jsonResponseCache.getCountry(COUNTRY_ISO2, this::countryResponse);
+        CachedJson second = jsonResponseCache.getCountry(COUNTRY_ISO2, this::countryResponse);
+
+        assertSame(first, second, "Cached JSON should be reused");
+        assertEquals(1, serializations.get(), "Response should be built once");
+        assertTrue(new String(first.getBody(), StandardCharsets.UTF_8).contains(COUNTRY_ISO2));
+        assertNotNull(first.getETag(), "ETag should be computed");
+    }
+
+    /**
+     * Changing a branch drops the branch, its headquarters and its country.
+     */
+    @Test
+    public void testInvalidateRecord_dropsRelatedEntries() {
+        CachedJson branch = jsonResponseCache.getSwiftCode(BRANCH_SWIFT_CODE, this::countryResponse);
+        CachedJson headquarter = jsonResponseCache.getSwiftCode(HEADQUARTERS_SWIFT_CODE, this::countryResponse);
+        CachedJson country = jsonResponseCache.getCountry(COUNTRY_ISO2, this::countryResponse);
+
+        jsonResponseCache.invalidateRecord(BRANCH_SWIFT_CODE, COUNTRY_ISO2);
+
+        assertNotSame(branch, jsonResponseCache.getSwiftCode(BRANCH_SWIFT_CODE, this::countryResponse));
+        assertNotSame(headquarter, jsonResponseCache.getSwiftCode(HEADQUARTERS_SWIFT_CODE, this::countryResponse));
+        assertNotSame(country, jsonResponseCache.getCountry(COUNTRY_ISO2, this::countryResponse));
+    }
+
+    /**
+     * Removing a record of unknown country drops all countries.
+     */
+    @Test
+    public void testInvalidateRecord_unknownCountry_dropsAllCountries() {
+        CachedJson country = jsonResponseCache.getCountry(COUNTRY_ISO2, this::countryResponse);
+        CachedJson otherCountry = jsonResponseCache.getCountry("DE", this::countryResponse);
+
+        jsonResponseCache.invalidateRecord(BRANCH_SWIFT_CODE, null);
+
+        assertNotSame(country, jsonResponseCache.getCountry(COUNTRY_ISO2, this::countryResponse));
+        assertNotSame(otherCountry, jsonResponseCache.getCountry("DE", this::countryResponse));
+    }
+
+    /**
+     * Response built while its record was invalidated is returned but not cached.
+     */
+    @Test
+    public void testGetCountry_invalidatedWhileSerializing_cachesNothing() {
+        CachedJson stale = jsonResponseCache.getCountry(COUNTRY_ISO2, () -> {
+            jsonResponseCache.invalidateRecord(BRANCH_SWIFT_CODE, COUNTRY_ISO2);
+            return countryResponse();
+        });
+
+        assertNotSame(stale, jsonResponseCache.getCountry(COUNTRY_ISO2, this::countryResponse));
+        assertEquals(2, serializations.get(), "Response should be built again after invalidation");
+    }
+
+    /**
+     * Failed lookup is not cached.
+     */
+    @Test
+    public void testGetSwiftCode_whenSupplierThrows_cachesNothing() {
+        assertThrows(SwiftDataNotFoundException.class, () ->
+                jsonResponseCache.getSwiftCode(BRANCH_SWIFT_CODE, () -> {
+                    throw new SwiftDataNotFoundException(BRANCH_SWIFT_CODE);
+                }));
+
+        jsonResponseCache.getSwiftCode(BRANCH_SWIFT_CODE, this::countryResponse);
+        assertEquals(1, serializations.get(), "Response should be built after failed lookup");
+    }
+
+    private CountrySwiftDataResponse countryResponse() {
+        serializations.incrementAndGet();
+        return new CountrySwiftDataResponse(COUNTRY_ISO2, "POLAND", List.of());
+    }
+
+    /**
+     * First request of a key is a miss, next ones are hits.
+     */
+    @Test
+    public void testGetSwiftCode_countsHitsAndMisses() {
+        jsonResponseCache.getSwiftCode(BRANCH_SWIFT_CODE, this::countryResponse);
+        jsonResponseCache.getSwiftCode(BRANCH_SWIFT_CODE, this::countryResponse);
+        jsonResponseCache.getSwiftCode(BRANCH_SWIFT_CODE, this::countryResponse);
+
+        assertEquals(1, jsonResponseCache.getSwiftCodeStatistics().getMisses());
+        assertEquals(2, jsonResponseCache.getSwiftCodeStatistics().getHits());
+        assertEquals(0, jsonResponseCache.getCountryStatistics().getHits());
+    }
+}
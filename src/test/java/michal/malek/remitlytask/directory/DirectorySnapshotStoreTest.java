@@ -0,0 +1,106 @@
+package michal.malek.remitlytask.directory;
+
+import michal.malek.remitlytask.configuration.properties.SnapshotProperties;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests writing and restoring of directory snapshot.
+ */
+public class DirectorySnapshotStoreTest {
+
+    private static final SnapshotFingerprint FINGERPRINT = new SnapshotFingerprint(42, 7, 3);
+
+    @TempDir
+    private Path tempDir;
+
+    private SnapshotProperties snapshotProperties;
+    private SwiftDirectory restoredDirectory;
+
+    @BeforeEach
+    public void setUp() {
+        snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setPath(tempDir.resolve("directory.snapshot"));
+        SwiftDirectory swiftDirectory = new SwiftDirectory();
+        swiftDirectory.load(List.of(doc("ABCDPLPWXXX", true), doc("ABCDPLPW001", false)));
+        swiftDirectory.put(doc("ZZZZPLPWXXX", true));
+        new DirectorySnapshotStore(swiftDirectory, snapshotProperties).save(FINGERPRINT);
+        restoredDirectory = new SwiftDirectory();
+    }
+
+    /**
+     * Snapshot written from the same sources restores all records, including ones written after load.
+     * Restored table reads mapped file in place.
+     */
+    @Test
+    public void testRestore_whenFingerprintMatches_loadsDirectory() {
+        boolean restored = new DirectorySnapshotStore(restoredDirectory, snapshotProperties).restore(FINGERPRINT);
+
+        Assertions.assertTrue(restored, "Snapshot should be restored");
+        Assertions.assertTrue(restoredDirectory.isLoaded(), "Directory should be loaded");
+        Assertions.assertEquals(3, restoredDirectory.size(), "Expected three records");
+        Assertions.assertTrue(restoredDirectory.find("ZZZZPLPWXXX").orElseThrow().isHeadquarter());
+        Assertions.assertEquals(1, restoredDirectory.findBranches("ABCDPLPW").size(), "Expected one branch");
+        Assertions.assertEquals(3, restoredDirectory.findByCountry("PL").size(), "Expected three records of country");
+        Assertions.assertTrue(restoredDirectory.pack().orElseThrow().buffer().isDirect(), "Table should read mapped file");
+    }
+
+    /**
+     * Snapshot of other CSV or DB state is ignored.
+     */
+    @Test
+    public void testRestore_whenSourcesChanged_doesNotLoad() {
+        SnapshotFingerprint changedRevision = new SnapshotFingerprint(42, 8, 3);
+
+        boolean restored = new DirectorySnapshotStore(restoredDirectory, snapshotProperties).restore(changedRevision);
+
+        Assertions.assertFalse(restored, "Stale snapshot should not be restored");
+        Assertions.assertFalse(restoredDirectory.isLoaded(), "Directory should stay unloaded");
+    }
+
+    /**
+     * Corrupted table is detected by checksum.
+     */
+    @Test
+    public void testRestore_whenTableCorrupted_doesNotLoad() throws IOException {
+        Path path = snapshotProperties.getPath();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        boolean restored = new DirectorySnapshotStore(restoredDirectory, snapshotProperties).restore(FINGERPRINT);
+
+        Assertions.assertFalse(restored, "Corrupted snapshot should not be restored");
+        Assertions.assertFalse(restoredDirectory.isLoaded(), "Directory should stay unloaded");
+    }
+
+    /**
+     * Missing snapshot is reported as not restored.
+     */
+    @Test
+    public void testRestore_whenSnapshotMissing_doesNotLoad() {
+        snapshotProperties.setPath(tempDir.resolve("missing.snapshot"));
+
+        boolean restored = new DirectorySnapshotStore(restoredDirectory, snapshotProperties).restore(FINGERPRINT);
+
+        Assertions.assertFalse(restored, "Missing snapshot should not be restored");
+    }
+
+    private static SwiftDataDoc doc(String swiftCode, boolean isHeadquarter) {
+        return SwiftDataDoc.builder()
+                .swiftCode(swiftCode)
+                .bankName("BANK " + swiftCode)
+                .isHeadquarter(isHeadquarter)
+                .countryISO2("PL")
+                .countryName("POLAND")
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package michal.malek.remitlytask.directory;
+
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Tests packing of swift records into PackedSwiftTable.
+ */
+public class PackedSwiftTableTest {
+
+    private static final List<SwiftDataDoc> DOCS = List.of(
+            doc("ZZZZPLPW001", false, "PL", "POLAND"),
+            doc("ABCDPLPWXXX", true, "PL", "POLAND"),
+            doc("ABCDDEFF001", false, "DE", "GERMANY"),
+            doc("ABCDPLPW001", false, "PL", null));
+
+    /**
+     * Packed records are found by code and materialized with all their fields on every read.
+     */
+    @Test
+    public void testDocAt_afterBuild_returnsPackedRecord() {
+        PackedSwiftTable table = PackedSwiftTable.build(DOCS);
+
+        int row = table.indexOf(SwiftCodeCodec.encode("ABCDPLPWXXX"));
+        SwiftDataDoc doc = table.docAt(row);
+
+        Assertions.assertEquals(4, table.size(), "Expected four rows");
+        Assertions.assertEquals("ABCDPLPWXXX", doc.getSwiftCode());
+        Assertions.assertEquals("ABCDPLPW", doc.getInstitutionPrefix());
+        Assertions.assertEquals("BANK ABCDPLPWXXX", doc.getBankName());
+        Assertions.assertEquals("POLAND", doc.getCountryName());
+        Assertions.assertTrue(doc.isHeadquarter(), "Headquarter flag should be kept");
+        Assertions.assertNotSame(doc, table.docAt(row), "Record of row should not be kept by table");
+        Assertions.assertNull(table.docAt(table.indexOf(SwiftCodeCodec.encode("ABCDPLPW001"))).getCountryName(),
+                "Null should be kept");
+        Assertions.assertEquals(-1, table.indexOf(SwiftCodeCodec.encode("MISSINGXXXX")), "Unknown code has no row");
+    }
+
+    /**
+     * Rows of a country are sorted by swift code, table wrapped from the same buffer reads the same records.
+     */
+    @Test
+    public void testCountryRows_afterWrap_areSortedByCode() {
+        PackedSwiftTable table = PackedSwiftTable.wrap(PackedSwiftTable.build(DOCS).buffer());
+
+        int slot = table.countrySlot("PL");
+        List<String> countryCodes = IntStream.range(0, table.countryRowCount(slot))
+                .mapToObj(index -> table.docAt(table.countryRow(slot, index)).getSwiftCode())
+                .toList();
+
+        Assertions.assertEquals(List.of("ABCDPLPW001", "ABCDPLPWXXX", "ZZZZPLPW001"), countryCodes);
+        Assertions.assertEquals(2, table.countryUpperBound(slot, SwiftCodeCodec.encode("ABCDPLPWXXX")));
+        Assertions.assertEquals(-1, table.countrySlot("US"), "Unknown country has no slot");
+    }
+
+    /**
+     * Codes of many rows are found at their sorted rows, lower bound of a missing code
+     * is the row of the next greater one.
+     */
+    @Test
+    public void testIndexOf_ofManyRows_findsEveryRow() {
+        List<SwiftDataDoc> docs = IntStream.range(0, 1000)
+                .mapToObj(index -> doc(String.format("BANKPL%02dX%02d", index / 100, index % 100), false, "PL", "POLAND"))
+                .toList();
+        PackedSwiftTable table = PackedSwiftTable.build(docs);
+
+        for (int row = 0; row < docs.size(); row++) {
+            Assertions.assertEquals(row, table.indexOf(SwiftCodeCodec.encode(docs.get(row).getSwiftCode())));
+        }
+        Assertions.assertEquals(100, table.lowerBound(SwiftCodeCodec.encode("BANKPL00Y")), "Missing code is bounded by next row");
+        Assertions.assertEquals(1000, table.lowerBound(SwiftCodeCodec.encode("ZZZZ")), "Greatest code is bounded by size");
+    }
+
+    /**
+     * Records added out of code order are packed sorted, code added twice is rejected.
+     */
+    @Test
+    public void testBuilder_whenAddedUnsorted_sortsRows() {
+        PackedSwiftTable.Builder builder = new PackedSwiftTable.Builder();
+        DOCS.forEach(builder::add);
+        PackedSwiftTable table = builder.build();
+
+        List<String> codes = IntStream.range(0, table.size())
+                .mapToObj(row -> table.docAt(row).getSwiftCode())
+                .toList();
+
+        Assertions.assertEquals(List.of("ABCDDEFF001", "ABCDPLPW001", "ABCDPLPWXXX", "ZZZZPLPW001"), codes);
+        PackedSwiftTable.Builder duplicatedBuilder = new PackedSwiftTable.Builder();
+        DOCS.forEach(duplicatedBuilder::add);
+        duplicatedBuilder.add(DOCS.get(1));
+        Assertions.assertThrows(IllegalArgumentException.class, duplicatedBuilder::build, "Duplicated code should be rejected");
+    }
+
+    private static SwiftDataDoc doc(String swiftCode, boolean isHeadquarter, String countryISO2, String countryName) {
+        return SwiftDataDoc.builder()
+                .swiftCode(swiftCode)
+                .isHeadquarter(isHeadquarter)
+                .bankName("BANK " + swiftCode)
+                .address("ADDRESS")
+                .countryISO2(countryISO2)
+                .countryName(countryName)
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package michal.malek.remitlytask.directory;
+
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Tests in-memory SwiftDirectory.
+ */
+public class SwiftDirectoryTest {
+
+    private static final String HEADQUARTERS_SWIFT_CODE = "ABCDEFGHXXX";
+    private static final String BRANCH_SWIFT_CODE = "ABCDEFGH001";
+    private static final String OTHER_BANK_SWIFT_CODE = "ZZZZEFGH001";
+    private static final String SWIFT_PREFIX = "ABCDEFGH";
+
+    private SwiftDirectory swiftDirectory;
+
+    @BeforeEach
+    public void setUp() {
+        swiftDirectory = new SwiftDirectory();
+        swiftDirectory.load(List.of(
+                doc(HEADQUARTERS_SWIFT_CODE, true),
+                doc(BRANCH_SWIFT_CODE, false),
+                doc(OTHER_BANK_SWIFT_CODE, false)));
+    }
+
+    /**
+     * Loaded records are found by swift code.
+     */
+    @Test
+    public void testFind_afterLoad_returnsRecord() {
+        Assertions.assertTrue(swiftDirectory.isLoaded(), "Directory should be loaded");
+        Assertions.assertEquals(3, swiftDirectory.size(), "Expected three records");
+        Assertions.assertTrue(swiftDirectory.find(HEADQUARTERS_SWIFT_CODE).isPresent(), "Headquarters should be found");
+        Assertions.assertTrue(swiftDirectory.find("MISSING0XXX").isEmpty(), "Unknown code should not be found");
+    }
+
+    /**
+     * Only non headquarters records of the same prefix are returned as branches.
+     */
+    @Test
+    public void testFindBranches_returnsOnlyBranchesOfPrefix() {
+        List<SwiftDataDoc> branches = swiftDirectory.findBranches(SWIFT_PREFIX);
+
+        Assertions.assertEquals(1, branches.size(), "Expected one branch");
+        Assertions.assertEquals(BRANCH_SWIFT_CODE, branches.get(0).getSwiftCode());
+    }
+
+    /**
+     * Institution groups headquarters and branches of the same prefix.
+     */
+    @Test
+    public void testFindInstitution_returnsHeadquarterAndBranches() {
+        Institution institution = swiftDirectory.findInstitution(SWIFT_PREFIX);
+
+        Assertions.assertEquals(HEADQUARTERS_SWIFT_CODE, institution.getHeadquarter().getSwiftCode());
+        Assertions.assertEquals(1, institution.getBranches().size(), "Expected one branch");
+        Assertions.assertTrue(swiftDirectory.findInstitution("NOPREFIX").getBranches().isEmpty(),
+                "Unknown prefix should have no branches");
+    }
+
+    /**
+     * Removing headquarters keeps its branches indexed under the prefix.
+     */
+    @Test
+    public void testRemoveHeadquarter_keepsBranches() {
+        swiftDirectory.remove(HEADQUARTERS_SWIFT_CODE);
+
+        Institution institution = swiftDirectory.findInstitution(SWIFT_PREFIX);
+        Assertions.assertNull(institution.getHeadquarter(), "Headquarters should be removed");
+        Assertions.assertEquals(1, institution.getBranches().size(), "Branch should stay");
+    }
+
+    /**
+     * Put and remove keep directory in line with DB writes.
+     */
+    @Test
+    public void testPutAndRemove_updateDirectory() {
+        String newBranch = "ABCDEFGH002";
+        swiftDirectory.put(doc(newBranch, false));
+        Assertions.assertEquals(2, swiftDirectory.findBranches(SWIFT_PREFIX).size(), "Expected two branches");
+
+        Assertions.assertTrue(swiftDirectory.remove(newBranch).isPresent(), "Removed record should be returned");
+        Assertions.assertTrue(swiftDirectory.find(newBranch).isEmpty(), "Removed record should not be found");
+        Assertions.assertTrue(swiftDirectory.remove(newBranch).isEmpty(), "Second removal should return nothing");
+    }
+
+    /**
+     * Pages of a country continue after cursor, in swift code order.
+     */
+    @Test
+    public void testFindByCountryAfter_continuesAfterCursor() {
+        List<SwiftDataDoc> firstPage = swiftDirectory.findByCountryAfter("PL", null, 2);
+        List<SwiftDataDoc> secondPage = swiftDirectory.findByCountryAfter("PL", firstPage.get(1).getSwiftCode(), 2);
+
+        Assertions.assertEquals(List.of(BRANCH_SWIFT_CODE, HEADQUARTERS_SWIFT_CODE),
+                firstPage.stream().map(SwiftDataDoc::getSwiftCode).toList());
+        Assertions.assertEquals(List.of(OTHER_BANK_SWIFT_CODE),
+                secondPage.stream().map(SwiftDataDoc::getSwiftCode).toList());
+        Assertions.assertTrue(swiftDirectory.findByCountryAfter("DE", null, 2).isEmpty(), "Unknown country has no page");
+    }
+
+    /**
+     * Replacing a packed record with one of another country moves it between country listings.
+     */
+    @Test
+    public void testPut_whenCountryChanged_movesRecordBetweenCountries() {
+        SwiftDataDoc moved = doc(BRANCH_SWIFT_CODE, false);
+        moved.setCountryISO2("DE");
+        swiftDirectory.put(moved);
+
+        Assertions.assertEquals(List.of(HEADQUARTERS_SWIFT_CODE, OTHER_BANK_SWIFT_CODE),
+                swiftDirectory.findByCountry("PL").stream().map(SwiftDataDoc::getSwiftCode).toList());
+        Assertions.assertEquals(List.of(BRANCH_SWIFT_CODE),
+                swiftDirectory.findByCountry("DE").stream().map(SwiftDataDoc::getSwiftCode).toList());
+        Assertions.assertEquals(3, swiftDirectory.size(), "Replacement should not change size");
+    }
+
+    /**
+     * Writes made while load reads records are served from current content and kept after reload,
+     * including ones made to records which were read before the write.
+     */
+    @Test
+    public void testLoadStream_whenWrittenDuringLoad_replaysWrites() {
+        String addedBranch = "ABCDEFGH002";
+        swiftDirectory.loadStream(() -> Stream.of(HEADQUARTERS_SWIFT_CODE, BRANCH_SWIFT_CODE, OTHER_BANK_SWIFT_CODE)
+                .map(swiftCode -> doc(swiftCode, swiftCode.endsWith("XXX")))
+                .peek(swiftDataDoc -> {
+                    if (swiftDataDoc.getSwiftCode().equals(OTHER_BANK_SWIFT_CODE)) {
+                        swiftDirectory.remove(BRANCH_SWIFT_CODE);
+                        swiftDirectory.put(doc(addedBranch, false));
+                        Assertions.assertTrue(swiftDirectory.find(addedBranch).isPresent(),
+                                "Write should be visible before reload finished");
+                    }
+                }));
+
+        Assertions.assertTrue(swiftDirectory.find(BRANCH_SWIFT_CODE).isEmpty(), "Removal should be replayed");
+        Assertions.assertTrue(swiftDirectory.find(addedBranch).isPresent(), "Added record should be replayed");
+        Assertions.assertEquals(3, swiftDirectory.size(), "Expected three records");
+    }
+
+    /**
+     * Writes outgrowing overlay are packed into table by compactor, with no record lost or duplicated.
+     */
+    @Test
+    public void testPut_whenOverlayOutgrowsThreshold_packsAllRecords() {
+        int addedCount = 5000;
+        for (int index = 0; index < addedCount; index++) {
+            swiftDirectory.put(doc(String.format("BK%04dPLXXX", index), true));
+        }
+        swiftDirectory.remove(BRANCH_SWIFT_CODE);
+
+        PackedSwiftTable table = swiftDirectory.pack().orElseThrow();
+
+        Assertions.assertEquals(addedCount + 2, table.size(), "Table should hold all records");
+        Assertions.assertEquals(addedCount + 2, swiftDirectory.size(), "Size should not change by compaction");
+        Assertions.assertTrue(swiftDirectory.find("BK4999PLXXX").isPresent(), "Added record should be found");
+        Assertions.assertTrue(swiftDirectory.find(BRANCH_SWIFT_CODE).isEmpty(), "Removed record should stay removed");
+    }
+
+    private static SwiftDataDoc doc(String swiftCode, boolean isHeadquarter) {
+        return SwiftDataDoc.builder()
+                .swiftCode(swiftCode)
+                .isHeadquarter(isHeadquarter)
+                .countryISO2("PL")
+                .countryName("POLAND")
+                .build();
+    }
+}
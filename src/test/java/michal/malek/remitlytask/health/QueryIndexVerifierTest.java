@@ -0,0 +1,101 @@
+package michal.malek.remitlytask.health;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import michal.malek.remitlytask.configuration.properties.IndexProperties;
+import michal.malek.remitlytask.exception.QueryNotIndexedException;
+import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
+import michal.malek.remitlytask.model.constant.ValidationConstants;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests detection of query shapes not served by index.
+ */
+@ExtendWith(MockitoExtension.class)
+public class QueryIndexVerifierTest {
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private MongoCollection<Document> collection;
+    @Mock private FindIterable<Document> findIterable;
+
+    private IndexProperties indexProperties;
+    private QueryIndexVerifier queryIndexVerifier;
+
+    @BeforeEach
+    public void setUp() {
+        indexProperties = new IndexProperties();
+        indexProperties.setFailOnCollectionScan(true);
+        queryIndexVerifier = new QueryIndexVerifier(mongoTemplate, new SwiftDataPersistenceMapper(), indexProperties);
+    }
+
+    /**
+     * Every shape planned with index scan passes.
+     */
+    @Test
+    public void testVerifyQueryIndexes_whenIndexScan_passes() {
+        mockWinningPlan(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN")));
+
+        assertDoesNotThrow(() -> queryIndexVerifier.verifyQueryIndexes());
+    }
+
+    /**
+     * Collection scan nested anywhere in winning plan fails startup when failing is enabled.
+     */
+    @Test
+    public void testVerifyQueryIndexes_whenCollectionScan_throwsException() {
+        mockWinningPlan(new Document("stage", "SUBPLAN")
+                .append("inputStages", List.of(new Document("stage", "COLLSCAN"))));
+
+        Exception ex = assertThrows(QueryNotIndexedException.class, () -> queryIndexVerifier.verifyQueryIndexes());
+        assertTrue(ex.getMessage().contains("findByCountryISO2"));
+    }
+
+    /**
+     * Sort and limit are explained with filter, so keyset page and code order reads are planned like in service.
+     */
+    @Test
+    public void testVerifyQueryIndexes_explainsSortAndLimit() {
+        mockWinningPlan(new Document("stage", "IXSCAN"));
+
+        queryIndexVerifier.verifyQueryIndexes();
+
+        verify(findIterable, times(2)).sort(new Document("_id", 1));
+        verify(findIterable).limit(ValidationConstants.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Nothing is explained when verification is disabled.
+     */
+    @Test
+    public void testVerifyQueryIndexes_whenDisabled_doesNothing() {
+        indexProperties.setVerifyOnStartup(false);
+
+        queryIndexVerifier.verifyQueryIndexes();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private void mockWinningPlan(Document winningPlan) {
+        when(mongoTemplate.getCollectionName(SwiftDataDoc.class)).thenReturn("swiftDataDoc");
+        when(mongoTemplate.getCollection("swiftDataDoc")).thenReturn(collection);
+        when(collection.find(any(Document.class))).thenReturn(findIterable);
+        when(findIterable.projection(any(Document.class))).thenReturn(findIterable);
+        when(findIterable.sort(any(Document.class))).thenReturn(findIterable);
+        when(findIterable.limit(anyInt())).thenReturn(findIterable);
+        when(findIterable.explain()).thenReturn(new Document("queryPlanner", new Document("winningPlan", winningPlan)));
+    }
+}
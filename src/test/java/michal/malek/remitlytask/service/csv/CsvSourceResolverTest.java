@@ -0,0 +1,94 @@
+package michal.malek.remitlytask.service.csv;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import michal.malek.remitlytask.exception.CsvParsingException;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.service.CsvService;
+import michal.malek.remitlytask.service.CsvSourceResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Tests resolving of plain, gzip and zip csv sources by CsvSourceResolver.
+ */
+public class CsvSourceResolverTest {
+
+    private static final String CSV_HEADER = "COUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE";
+
+    @TempDir
+    private Path tempDir;
+
+    private final CsvService csvService = new CsvService(new SimpleMeterRegistry());
+
+    /**
+     * Glob matches sources in order of file names, compressed ones are decompressed while read.
+     */
+    @Test
+    public void testResolveSources_glob_readsPlainGzipAndZipParts() throws IOException {
+        Files.writeString(tempDir.resolve("a-part.csv"), csv("AAAAPLPWXXX"));
+        try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(tempDir.resolve("b-part.csv.gz")))) {
+            gzip.write(csv("BBBBPLPWXXX").getBytes(StandardCharsets.UTF_8));
+        }
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(tempDir.resolve("c-parts.zip")))) {
+            zipEntry(zip, "second.csv", csv("DDDDPLPWXXX"));
+            zipEntry(zip, "first.csv", csv("CCCCPLPWXXX"));
+            zipEntry(zip, "readme.txt", "not csv");
+        }
+        CsvSourceResolver resolver = new CsvSourceResolver(tempDir.toUri() + "*-part*");
+
+        List<Resource> sources = resolver.resolveSources();
+        List<String> swiftCodes = new ArrayList<>();
+        for (Resource source : sources) {
+            for (Resource part : resolver.parts(source)) {
+                csvService.streamSwiftData(part, 10, chunk -> chunk.stream().map(SwiftDataDoc::getSwiftCode).forEach(swiftCodes::add));
+            }
+        }
+
+        Assertions.assertEquals(3, sources.size(), "Expected three sources");
+        Assertions.assertEquals(List.of("AAAAPLPWXXX", "BBBBPLPWXXX", "CCCCPLPWXXX", "DDDDPLPWXXX"), swiftCodes);
+    }
+
+    /**
+     * Location matching nothing fails resolving, so import never treats missing file as empty one.
+     */
+    @Test
+    public void testResolveSources_missingLocation_throwsException() {
+        CsvSourceResolver resolver = new CsvSourceResolver(tempDir.toUri() + "missing-*.csv");
+
+        Assertions.assertThrows(CsvParsingException.class, resolver::resolveSources,
+                "Should cause CsvParsingException");
+    }
+
+    /**
+     * Location without prefix is read from classpath, as bundled csv is.
+     */
+    @Test
+    public void testResolveSources_classpathLocation_isResolved() {
+        CsvSourceResolver resolver = new CsvSourceResolver("/static/csv/Interns_2025_SWIFT_CODES.csv");
+
+        Assertions.assertEquals(1, resolver.resolveSources().size(), "Bundled csv should be found");
+    }
+
+    private static String csv(String swiftCode) {
+        return CSV_HEADER + "\n" + "PL," + swiftCode + ",BIC11,BANK,\"STREET 1, WARSAW\",WARSAW,POLAND,Europe/Warsaw\n";
+    }
+
+    private static void zipEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
@@ -1,5 +1,6 @@
 package michal.malek.remitlytask.service.csv;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import michal.malek.remitlytask.model.CustomCsvRecord;
 import michal.malek.remitlytask.exception.CsvParsingException;
 import michal.malek.remitlytask.service.CsvService;
@@ -38,7 +39,7 @@ public class CustomClassCsvTest {
 
     @BeforeEach
     public void setUp() {
-        csvService = new CsvService();
+        csvService = new CsvService(new SimpleMeterRegistry());
     }
 
     /**
@@ -75,4 +76,18 @@ public class CustomClassCsvTest {
             csvService.readCsv(CustomCsvRecord.class, resource);
         }, "Should throw CsvParsingException");
     }
+
+    /**
+     * Malformed CSV data is counted as parse error.
+     */
+    @Test
+    public void testReadCsv_forCustomCsvRecord_malformedCsv_countsParseError() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        String malformedCsv = CSV_HEADER + "\n" + FIRST_RECORD_ID + "," + FIRST_RECORD_NAME;
+        Resource resource = new ByteArrayResource(malformedCsv.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertThrows(CsvParsingException.class,
+                () -> new CsvService(meterRegistry).readCsv(CustomCsvRecord.class, resource));
+        Assertions.assertEquals(1.0, meterRegistry.get("swift.csv.parse.errors").counter().count());
+    }
 }
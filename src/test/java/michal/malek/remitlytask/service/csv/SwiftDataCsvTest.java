@@ -1,15 +1,23 @@
 package michal.malek.remitlytask.service.csv;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import michal.malek.remitlytask.exception.CsvParsingException;
 import michal.malek.remitlytask.model.swift_data.SwiftDataCsv;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
 import michal.malek.remitlytask.service.CsvService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -76,11 +84,14 @@ public class SwiftDataCsvTest {
 
     private static final String CSV_DATA = CSV_HEADER + "\n" + CSV_ROW_1 + "\n" + CSV_ROW_2;
 
+    @TempDir
+    private Path tempDir;
+
     private CsvService csvService;
 
     @BeforeEach
     public void setUp() {
-        csvService = new CsvService();
+        csvService = new CsvService(new SimpleMeterRegistry());
     }
 
     /**
@@ -148,4 +159,171 @@ public class SwiftDataCsvTest {
             csvService.readCsv(SwiftDataCsv.class, resource);
         }, "Should cause CsvParsingException");
     }
+
+    /**
+     * Verifies that streamed CSV is handed over in chunks no bigger than chunk size.
+     */
+    @Test
+    public void testStreamCsv_forSwiftDataCsv_handsOverChunks() {
+        Resource resource = new ByteArrayResource(CSV_DATA.getBytes(StandardCharsets.UTF_8));
+        List<List<SwiftDataCsv>> chunks = new ArrayList<>();
+
+        long recordCount = csvService.streamCsv(SwiftDataCsv.class, resource, 1, chunks::add);
+
+        Assertions.assertEquals(2, recordCount, "Expected 2 records");
+        Assertions.assertEquals(2, chunks.size(), "Expected 2 chunks");
+        Assertions.assertEquals(ROW1_SWIFT_CODE, chunks.get(0).get(0).getSwiftCode());
+        Assertions.assertEquals(ROW2_SWIFT_CODE, chunks.get(1).get(0).getSwiftCode());
+    }
+
+    /**
+     * Verifies that exception of chunk consumer is not reported as parsing failure.
+     */
+    @Test
+    public void testStreamCsv_consumerFailure_isPropagated() {
+        Resource resource = new ByteArrayResource(CSV_DATA.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            csvService.streamCsv(SwiftDataCsv.class, resource, 10, chunk -> {
+                throw new IllegalStateException();
+            });
+        }, "Should propagate consumer exception");
+    }
+
+    /**
+     * Read rows are counted and reading is timed per csv class.
+     */
+    @Test
+    public void testReadCsv_forSwiftDataCsv_recordsMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Resource resource = new ByteArrayResource(CSV_DATA.getBytes(StandardCharsets.UTF_8));
+
+        new CsvService(meterRegistry).readCsv(SwiftDataCsv.class, resource);
+
+        Assertions.assertEquals(2.0, meterRegistry.get("swift.csv.rows").tag("type", "SwiftDataCsv").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("swift.csv.read").tag("mode", "read").timer().count());
+    }
+
+    /**
+     * Verifies that fast path maps csv records straight to documents.
+     */
+    @Test
+    public void testStreamSwiftData_mapsRecordsToDocs() {
+        Resource resource = new ByteArrayResource(CSV_DATA.getBytes(StandardCharsets.UTF_8));
+        List<SwiftDataDoc> docs = new ArrayList<>();
+
+        long recordCount = csvService.streamSwiftData(resource, 10, docs::addAll);
+
+        Assertions.assertEquals(2, recordCount, "Expected 2 records");
+        SwiftDataDoc firstDoc = docs.get(0);
+        Assertions.assertEquals(ROW1_COUNTRY_ISO2_CODE, firstDoc.getCountryISO2());
+        Assertions.assertEquals(ROW1_SWIFT_CODE, firstDoc.getSwiftCode());
+        Assertions.assertEquals(ROW1_NAME, firstDoc.getBankName());
+        Assertions.assertEquals(ROW1_ADDRESS, firstDoc.getAddress());
+        Assertions.assertEquals(ROW1_COUNTRY_NAME, firstDoc.getCountryName());
+        Assertions.assertEquals(ROW1_SWIFT_CODE, firstDoc.getInstitutionPrefix());
+        Assertions.assertFalse(firstDoc.isHeadquarter(), "Code not ending with XXX is a branch");
+        Assertions.assertEquals(ROW2_SWIFT_CODE, docs.get(1).getSwiftCode());
+    }
+
+    /**
+     * Verifies that quoted fields keep delimiters, escaped quotes, line breaks and UTF-8 characters,
+     * columns are matched by name in any order.
+     */
+    @Test
+    public void testStreamSwiftData_quotedFields_areUnescaped() {
+        String csv = "\uFEFF" + String.join(",", COL_SWIFT_CODE, COL_ADDRESS, COL_NAME, COL_COUNTRY_ISO2_CODE,
+                COL_COUNTRY_NAME) + "\r\n"
+                + "ABCDPLPWXXX,\"UL. \"\"ZŁOTA\"\" 1,\r\nWARSZAWA\", Bank,PL,POLAND\r\n"
+                + "\r\n";
+        Resource resource = new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8));
+        List<SwiftDataDoc> docs = new ArrayList<>();
+
+        csvService.streamSwiftData(resource, 10, docs::addAll);
+
+        Assertions.assertEquals(1, docs.size(), "Expected 1 record, blank line is skipped");
+        Assertions.assertEquals("ABCDPLPWXXX", docs.get(0).getSwiftCode());
+        Assertions.assertEquals("UL. \"ZŁOTA\" 1,\r\nWARSZAWA", docs.get(0).getAddress());
+        Assertions.assertEquals("Bank", docs.get(0).getBankName(), "Leading whitespace is ignored");
+        Assertions.assertTrue(docs.get(0).isHeadquarter(), "Code ending with XXX is a headquarter");
+    }
+
+    /**
+     * Verifies that malformed record is reported with its line and counted as parse error.
+     */
+    @Test
+    public void testStreamSwiftData_malformedCsv_throwsException() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        String malformedCsv = CSV_DATA + "\n" + ROW1_COUNTRY_ISO2_CODE + "," + ROW1_SWIFT_CODE;
+        Resource resource = new ByteArrayResource(malformedCsv.getBytes(StandardCharsets.UTF_8));
+
+        CsvParsingException exception = Assertions.assertThrows(CsvParsingException.class,
+                () -> new CsvService(meterRegistry).streamSwiftData(resource, 10, chunk -> {}));
+
+        Assertions.assertTrue(exception.getMessage().contains("line 4"), "Line of record should be reported");
+        Assertions.assertEquals(1.0, meterRegistry.get("swift.csv.parse.errors").counter().count());
+    }
+
+    /**
+     * Verifies that header without a column stored in DB is rejected before any record is parsed.
+     */
+    @Test
+    public void testStreamSwiftData_missingColumn_throwsException() {
+        String csv = CSV_HEADER.replace(COL_SWIFT_CODE, "CODE") + "\n" + CSV_ROW_1;
+        Resource resource = new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8));
+
+        CsvParsingException exception = Assertions.assertThrows(CsvParsingException.class,
+                () -> csvService.streamSwiftData(resource, 10, chunk -> {}));
+
+        Assertions.assertTrue(exception.getMessage().contains(COL_SWIFT_CODE), exception.getMessage());
+    }
+
+    /**
+     * Verifies that file split into many ranges, with line breaks inside quoted fields,
+     * is handed over in file order like by single thread.
+     */
+    @Test
+    public void testParallelStreamSwiftData_matchesSequentialOrder() throws IOException {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append("\r\n");
+        for (int row = 0; row < 500; row++) {
+            csv.append(String.join(",", ROW1_COUNTRY_ISO2_CODE, String.format("BANKPLPW%03d", row), ROW1_CODE_TYPE,
+                    ROW1_NAME, "\"STREET " + row + ",\nFLOOR \"\"" + row + "\"\"\"", ROW1_TOWN_NAME,
+                    ROW1_COUNTRY_NAME, ROW1_TIME_ZONE)).append("\r\n");
+        }
+        Path csvPath = Files.writeString(tempDir.resolve("swift.csv"), csv);
+        List<SwiftDataDoc> sequentialDocs = new ArrayList<>();
+        List<SwiftDataDoc> parallelDocs = new ArrayList<>();
+
+        csvService.streamSwiftData(new FileSystemResource(csvPath), 10, sequentialDocs::addAll);
+        long recordCount = csvService.parallelStreamSwiftData(new FileSystemResource(csvPath), 10, 4, 256, 1024,
+                parallelDocs::addAll);
+
+        Assertions.assertEquals(500, recordCount, "Expected 500 records");
+        Assertions.assertEquals(sequentialDocs.stream().map(SwiftDataDoc::getSwiftCode).toList(),
+                parallelDocs.stream().map(SwiftDataDoc::getSwiftCode).toList(), "Order should be kept");
+        Assertions.assertEquals("STREET 499,\nFLOOR \"499\"", parallelDocs.get(499).getAddress());
+    }
+
+    /**
+     * Verifies that first malformed record of file stops reading like with single thread,
+     * whatever range it was parsed in, and records preceding it are handed over.
+     */
+    @Test
+    public void testParallelStreamSwiftData_malformedRecord_failsAtFirstLine() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append("\n");
+        for (int row = 0; row < 100; row++) {
+            csv.append(row % 30 == 29 ? ROW1_SWIFT_CODE : CSV_ROW_1).append("\n");
+        }
+        Path csvPath = Files.writeString(tempDir.resolve("malformed.csv"), csv);
+        List<SwiftDataDoc> handedOverDocs = new ArrayList<>();
+
+        CsvParsingException exception = Assertions.assertThrows(CsvParsingException.class,
+                () -> new CsvService(meterRegistry).parallelStreamSwiftData(new FileSystemResource(csvPath), 10, 4, 128,
+                        512, handedOverDocs::addAll));
+
+        Assertions.assertTrue(exception.getMessage().contains("line 31 "), exception.getMessage());
+        Assertions.assertEquals(29, handedOverDocs.size(), "Records preceding malformed one should be handed over");
+        Assertions.assertEquals(1.0, meterRegistry.get("swift.csv.parse.errors").counter().count());
+    }
 }
@@ -0,0 +1,133 @@
+package michal.malek.remitlytask.service.swift_data;
+
+import com.mongodb.client.result.DeleteResult;
+import michal.malek.remitlytask.cache.CountrySnapshotCache;
+import michal.malek.remitlytask.cache.JsonResponseCache;
+import michal.malek.remitlytask.directory.SwiftDirectory;
+import michal.malek.remitlytask.exception.SwiftDataNotFoundException;
+import michal.malek.remitlytask.mapper.SwiftDataMapper;
+import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
+import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
+import michal.malek.remitlytask.model.swift_data.response.BranchResponse;
+import michal.malek.remitlytask.model.swift_data.response.HeadquarterAndBranchesResponse;
+import michal.malek.remitlytask.repository.ReactiveSwiftDataRepository;
+import michal.malek.remitlytask.service.DataRevisionService;
+import michal.malek.remitlytask.service.ReactiveDataRevisionService;
+import michal.malek.remitlytask.service.ReactiveSwiftDataService;
+import michal.malek.remitlytask.service.SwiftDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests reactive read and write paths of ReactiveSwiftDataService.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReactiveSwiftDataServiceTest {
+    @Mock private ReactiveSwiftDataRepository reactiveSwiftDataRepository;
+    @Mock private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock private SwiftDataMapper swiftDataMapper;
+    @Mock private SwiftDataPersistenceMapper swiftDataPersistenceMapper;
+    @Mock private CountrySnapshotCache countrySnapshotCache;
+    @Mock private JsonResponseCache jsonResponseCache;
+    @Mock private DataRevisionService dataRevisionService;
+    @Mock private ReactiveDataRevisionService reactiveDataRevisionService;
+
+    private static final String HEADQUARTERS_SWIFT_CODE = "ABCDEFGHXXX";
+    private static final String BRANCH_SWIFT_CODE = "ABCDEFGH001";
+    private static final String COUNTRY_ISO2 = "PL";
+
+    private SwiftDirectory swiftDirectory;
+    private ReactiveSwiftDataService reactiveSwiftDataService;
+
+    @BeforeEach
+    public void setUp() {
+        swiftDirectory = new SwiftDirectory();
+        SwiftDataService swiftDataService = new SwiftDataService(null, swiftDataMapper, swiftDataPersistenceMapper,
+                null, swiftDirectory, countrySnapshotCache, jsonResponseCache, null, dataRevisionService);
+        reactiveSwiftDataService = new ReactiveSwiftDataService(reactiveSwiftDataRepository, reactiveMongoTemplate,
+                swiftDataMapper, swiftDataPersistenceMapper, swiftDataService, swiftDirectory, jsonResponseCache,
+                reactiveDataRevisionService);
+    }
+
+    /**
+     * Headquarters and branches are resolved from single institution prefix query.
+     */
+    @Test
+    public void testGetSwiftDataWithBranches_whenHeadquarter_returnsBranches() {
+        SwiftDataDoc headquartersDoc = doc(HEADQUARTERS_SWIFT_CODE, true);
+        SwiftDataDoc branchDoc = doc(BRANCH_SWIFT_CODE, false);
+        when(reactiveSwiftDataRepository.findByInstitutionPrefix("ABCDEFGH"))
+                .thenReturn(Flux.just(headquartersDoc, branchDoc));
+        when(swiftDataMapper.swiftDocToHeadquarter(headquartersDoc)).thenReturn(new HeadquarterAndBranchesResponse());
+        when(swiftDataMapper.swiftDocListToResponseList(List.of(branchDoc))).thenReturn(List.of(new BranchResponse()));
+
+        StepVerifier.create(reactiveSwiftDataService.getSwiftDataWithBranches(HEADQUARTERS_SWIFT_CODE))
+                .assertNext(response -> assertEquals(1, response.getBranches().size(), "Expected one branch"))
+                .verifyComplete();
+    }
+
+    /**
+     * Missing code ends with SwiftDataNotFoundException.
+     */
+    @Test
+    public void testGetSwiftDataWithBranches_whenMissing_emitsNotFound() {
+        when(reactiveSwiftDataRepository.findById(BRANCH_SWIFT_CODE)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveSwiftDataService.getSwiftDataWithBranches(BRANCH_SWIFT_CODE))
+                .expectError(SwiftDataNotFoundException.class)
+                .verify();
+    }
+
+    /**
+     * Deleted record is removed from directory and caches.
+     */
+    @Test
+    public void testDeleteSwiftData_success_updatesDirectory() {
+        swiftDirectory.put(doc(BRANCH_SWIFT_CODE, false));
+        when(reactiveMongoTemplate.remove(any(), eq(SwiftDataDoc.class))).thenReturn(Mono.just(DeleteResult.acknowledged(1)));
+        when(reactiveDataRevisionService.increment()).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveSwiftDataService.deleteSwiftData(BRANCH_SWIFT_CODE))
+                .assertNext(response -> assertTrue(response.getMessage().contains(BRANCH_SWIFT_CODE)))
+                .verifyComplete();
+        assertTrue(swiftDirectory.find(BRANCH_SWIFT_CODE).isEmpty(), "Directory should not hold deleted record");
+        verify(jsonResponseCache).invalidateRecord(BRANCH_SWIFT_CODE, COUNTRY_ISO2);
+        verify(reactiveDataRevisionService).increment();
+    }
+
+    /**
+     * Zero deleted documents ends with SwiftDataNotFoundException.
+     */
+    @Test
+    public void testDeleteSwiftData_notFound_emitsNotFound() {
+        when(reactiveMongoTemplate.remove(any(), eq(SwiftDataDoc.class))).thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+
+        StepVerifier.create(reactiveSwiftDataService.deleteSwiftData(BRANCH_SWIFT_CODE))
+                .expectError(SwiftDataNotFoundException.class)
+                .verify();
+        verifyNoInteractions(jsonResponseCache);
+    }
+
+    private static SwiftDataDoc doc(String swiftCode, boolean isHeadquarter) {
+        return SwiftDataDoc.builder()
+                .swiftCode(swiftCode)
+                .isHeadquarter(isHeadquarter)
+                .countryISO2(COUNTRY_ISO2)
+                .countryName("POLAND")
+                .build();
+    }
+}
@@ -1,37 +1,67 @@
 package michal.malek.remitlytask.service.swift_data;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.DeleteResult;
+import michal.malek.remitlytask.cache.CountrySnapshotCache;
+import michal.malek.remitlytask.cache.JsonResponseCache;
+import michal.malek.remitlytask.directory.SwiftDirectory;
 import michal.malek.remitlytask.exception.SwiftDataAlreadyExistsException;
 import michal.malek.remitlytask.exception.SwiftDataNotFoundException;
 import michal.malek.remitlytask.exception.SwiftDataNotValidException;
 import michal.malek.remitlytask.mapper.SwiftDataMapper;
+import michal.malek.remitlytask.mapper.SwiftDataPersistenceMapper;
 import michal.malek.remitlytask.model.standard.StandardizedSuccessResponse;
 import michal.malek.remitlytask.model.swift_data.SwiftDataDoc;
 import michal.malek.remitlytask.model.swift_data.request.SwiftDataRequest;
+import michal.malek.remitlytask.model.swift_data.response.BatchLookupResponse;
 import michal.malek.remitlytask.model.swift_data.response.BranchResponse;
+import michal.malek.remitlytask.model.swift_data.response.BulkItemStatus;
+import michal.malek.remitlytask.model.swift_data.response.BulkWriteResponse;
+import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataPageResponse;
 import michal.malek.remitlytask.model.swift_data.response.CountrySwiftDataResponse;
 import michal.malek.remitlytask.model.swift_data.response.HeadquarterAndBranchesResponse;
 import michal.malek.remitlytask.repository.SwiftDataRepository;
+import michal.malek.remitlytask.service.DataRevisionService;
 import michal.malek.remitlytask.service.SwiftDataService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class SwiftDataServiceTest {
     @Mock private SwiftDataRepository swiftDataRepository;
     @Mock private SwiftDataMapper swiftDataMapper;
+    @Mock private SwiftDataPersistenceMapper swiftDataPersistenceMapper;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private BulkOperations bulkOperations;
+    @Mock private CountrySnapshotCache countrySnapshotCache;
+    @Mock private JsonResponseCache jsonResponseCache;
+    @Mock private DataRevisionService dataRevisionService;
+    @Spy private SwiftDirectory swiftDirectory = new SwiftDirectory();
+    @Spy private ObjectMapper objectMapper = new ObjectMapper();
 
     @InjectMocks private SwiftDataService swiftDataService;
 
@@ -74,18 +104,17 @@ public class SwiftDataServiceTest {
 
     /**
      * Test getSwiftDataWithBranches for a headquarters record.
-     * Expects branch list to be set in the returned HeadquarterAndBranchesResponse.
+     * Expects branch list to be set in the returned HeadquarterAndBranchesResponse,
+     * with headquarters and branches read by single institution prefix query.
      */
     @Test
     public void testGetSwiftDataWithBranches_whenHeadquarter_returnsBranches() {
-        when(swiftDataRepository.findById(HEADQUARTERS_SWIFT_CODE))
-                .thenReturn(Optional.of(headquartersDoc));
+        when(swiftDataRepository.findByInstitutionPrefix("ABCDEFGH"))
+                .thenReturn(List.of(headquartersDoc, branchDoc));
 
         HeadquarterAndBranchesResponse hqResponse = new HeadquarterAndBranchesResponse();
         when(swiftDataMapper.swiftDocToHeadquarter(headquartersDoc)).thenReturn(hqResponse);
 
-        when(swiftDataRepository.findBySwiftCodeStartingWithAndIsHeadquarterFalse(anyString()))
-                .thenReturn(Collections.singletonList(branchDoc));
         BranchResponse branchResponse = new BranchResponse(); // dummy branch response
         when(swiftDataMapper.swiftDocListToResponseList(Collections.singletonList(branchDoc)))
                 .thenReturn(List.of(branchResponse));
@@ -95,6 +124,7 @@ public class SwiftDataServiceTest {
         assertNotNull(result, "Result should not be null");
         assertNotNull(result.getBranches(), "Branches should not be null for a headquarters record");
         assertEquals(1, result.getBranches().size(), "Expected one branch");
+        verify(swiftDataRepository, never()).findById(anyString());
     }
 
     /**
@@ -117,6 +147,63 @@ public class SwiftDataServiceTest {
         assertNull(result.getBranches(), "Branches should be null for a non-headquarters record");
     }
 
+    /**
+     * Test getSwiftDataWithBranches when directory is loaded.
+     * Expects record and branches to be served without touching repository.
+     */
+    @Test
+    public void testGetSwiftDataWithBranches_whenDirectoryLoaded_doesNotQueryRepository() {
+        swiftDirectory.load(List.of(headquartersDoc, branchDoc));
+
+        HeadquarterAndBranchesResponse hqResponse = new HeadquarterAndBranchesResponse();
+        when(swiftDataMapper.swiftDocToHeadquarter(docWithCode(HEADQUARTERS_SWIFT_CODE))).thenReturn(hqResponse);
+        when(swiftDataMapper.swiftDocListToResponseList(docsWithCodes(branchDoc.getSwiftCode())))
+                .thenReturn(List.of(new BranchResponse()));
+
+        HeadquarterAndBranchesResponse result = swiftDataService.getSwiftDataWithBranches(HEADQUARTERS_SWIFT_CODE);
+
+        assertEquals(1, result.getBranches().size(), "Expected one branch");
+        verifyNoInteractions(swiftDataRepository);
+    }
+
+    /**
+     * Test getSwiftDataWithBranches when directory is loaded and code is missing.
+     * Expects SwiftDataNotFoundException without touching repository.
+     */
+    @Test
+    public void testGetSwiftDataWithBranches_whenDirectoryLoadedAndMissing_throwsException() {
+        swiftDirectory.load(List.of(headquartersDoc));
+
+        Exception ex = assertThrows(SwiftDataNotFoundException.class, () ->
+                swiftDataService.getSwiftDataWithBranches(NON_HEADQUARTERS_SWIFT_CODE)
+        );
+        assertTrue(ex.getMessage().contains(NON_HEADQUARTERS_SWIFT_CODE));
+        verifyNoInteractions(swiftDataRepository);
+    }
+
+    /**
+     * Test batchLookup when directory is loaded.
+     * Expects found headquarters with its branches, missing code in notFound, duplicates resolved once
+     * and no repository access.
+     */
+    @Test
+    public void testBatchLookup_whenDirectoryLoaded_returnsFoundAndNotFound() {
+        swiftDirectory.load(List.of(headquartersDoc, branchDoc));
+
+        when(swiftDataMapper.swiftDocToHeadquarter(docWithCode(HEADQUARTERS_SWIFT_CODE)))
+                .thenReturn(new HeadquarterAndBranchesResponse());
+        when(swiftDataMapper.swiftDocListToResponseList(docsWithCodes(branchDoc.getSwiftCode())))
+                .thenReturn(List.of(new BranchResponse()));
+
+        BatchLookupResponse result = swiftDataService.batchLookup(
+                List.of(HEADQUARTERS_SWIFT_CODE, NON_HEADQUARTERS_SWIFT_CODE, HEADQUARTERS_SWIFT_CODE));
+
+        assertEquals(1, result.getResults().size(), "Expected one found record");
+        assertEquals(1, result.getResults().get(HEADQUARTERS_SWIFT_CODE).getBranches().size(), "Expected one branch");
+        assertEquals(List.of(NON_HEADQUARTERS_SWIFT_CODE), result.getNotFound());
+        verifyNoInteractions(swiftDataRepository);
+    }
+
     /**
      * Test getCountrySwiftData when data is found.
      */
@@ -151,21 +238,74 @@ public class SwiftDataServiceTest {
         assertTrue(ex.getMessage().contains(COUNTRY_ISO2));
     }
 
+    /**
+     * Test getCountrySwiftData when directory is loaded.
+     * Expects snapshot to be served without touching repository.
+     */
+    @Test
+    public void testGetCountrySwiftData_whenDirectoryLoaded_returnsSnapshot() {
+        swiftDirectory.load(List.of(headquartersDoc));
+        CountrySwiftDataResponse snapshot = CountrySwiftDataResponse.builder().countryISO2(COUNTRY_ISO2).build();
+        when(countrySnapshotCache.get(COUNTRY_ISO2)).thenReturn(Optional.of(snapshot));
+
+        CountrySwiftDataResponse result = swiftDataService.getCountrySwiftData(COUNTRY_ISO2);
+
+        assertSame(snapshot, result, "Snapshot should be returned");
+        verifyNoInteractions(swiftDataRepository);
+    }
+
+    /**
+     * Test getCountrySwiftDataPage when directory is loaded.
+     * Expects page limited to requested size with cursor of next page, and no cursor on last page.
+     */
+    @Test
+    public void testGetCountrySwiftDataPage_whenDirectoryLoaded_returnsPagesWithCursor() {
+        swiftDirectory.load(List.of(headquartersDoc, branchDoc));
+        when(swiftDataMapper.swiftDocListToResponseList(anyList())).thenReturn(List.of(new BranchResponse()));
+
+        CountrySwiftDataPageResponse firstPage = swiftDataService.getCountrySwiftDataPage(COUNTRY_ISO2, null, 1);
+        CountrySwiftDataPageResponse lastPage = swiftDataService.getCountrySwiftDataPage(COUNTRY_ISO2, firstPage.getNextCursor(), 1);
+
+        assertEquals(branchDoc.getSwiftCode(), firstPage.getNextCursor());
+        assertNull(lastPage.getNextCursor(), "Last page should have no cursor");
+        verify(swiftDataMapper).swiftDocListToResponseList(docsWithCodes(HEADQUARTERS_SWIFT_CODE));
+        verifyNoInteractions(swiftDataRepository);
+    }
+
+    /**
+     * Test writeCountrySwiftData when directory is loaded.
+     * Expects one JSON line per record of country.
+     */
+    @Test
+    public void testWriteCountrySwiftData_whenDirectoryLoaded_writesLinePerRecord() throws Exception {
+        swiftDirectory.load(List.of(headquartersDoc, branchDoc));
+        when(swiftDataMapper.swiftDocToResponse(any(SwiftDataDoc.class))).thenReturn(new BranchResponse());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        swiftDataService.writeCountrySwiftData(COUNTRY_ISO2, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length, "Expected one line per record");
+        assertTrue(lines[0].startsWith("{"), "Every line should hold JSON object");
+    }
+
     /**
      * Test addSwiftData with a valid request.
      */
     @Test
     public void testAddSwiftData_success() {
-        when(swiftDataRepository.existsById(validRequest.getSwiftCode())).thenReturn(false);
         SwiftDataDoc doc = new SwiftDataDoc();
         doc.setSwiftCode(validRequest.getSwiftCode());
         when(swiftDataMapper.swiftRequestToDoc(validRequest)).thenReturn(doc);
-        when(swiftDataRepository.save(doc)).thenReturn(doc);
+        when(swiftDataRepository.insert(doc)).thenReturn(doc);
 
         StandardizedSuccessResponse response = swiftDataService.addSwiftData(validRequest);
 
         assertNotNull(response, "Response should not be null");
         assertTrue(response.getMessage().contains(validRequest.getSwiftCode()));
+        assertTrue(swiftDirectory.find(validRequest.getSwiftCode()).isPresent(), "Directory should hold added record");
+        verify(countrySnapshotCache).invalidate(doc.getCountryISO2());
+        verify(jsonResponseCache).invalidateRecord(doc.getSwiftCode(), doc.getCountryISO2());
     }
 
     /**
@@ -177,19 +317,25 @@ public class SwiftDataServiceTest {
                 swiftDataService.addSwiftData(invalidRequestWrongXXX)
         );
         assertTrue(ex.getMessage().toLowerCase().contains("xxx"), "Exception message should mention XXX usage");
+        verifyNoInteractions(swiftDataRepository);
     }
 
     /**
      * Test addSwiftData when a duplicate swift code exists.
+     * Expects duplicate key error of insert to be reported as SwiftDataAlreadyExistsException.
      */
     @Test
     public void testAddSwiftData_duplicateSwiftCode_throwsException() {
-        when(swiftDataRepository.existsById(invalidRequestDuplicate.getSwiftCode())).thenReturn(true);
+        SwiftDataDoc doc = new SwiftDataDoc();
+        doc.setSwiftCode(invalidRequestDuplicate.getSwiftCode());
+        when(swiftDataMapper.swiftRequestToDoc(invalidRequestDuplicate)).thenReturn(doc);
+        when(swiftDataRepository.insert(doc)).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
 
         Exception ex = assertThrows(SwiftDataAlreadyExistsException.class, () ->
                 swiftDataService.addSwiftData(invalidRequestDuplicate)
         );
         assertTrue(ex.getMessage().contains(invalidRequestDuplicate.getSwiftCode()));
+        assertTrue(swiftDirectory.find(doc.getSwiftCode()).isEmpty(), "Directory should not hold rejected record");
     }
 
     /**
@@ -198,12 +344,19 @@ public class SwiftDataServiceTest {
     @Test
     public void testDeleteSwiftData_success() {
         String swiftCode = "TESTCODE";
-        when(swiftDataRepository.existsById(swiftCode)).thenReturn(true);
+        SwiftDataDoc doc = new SwiftDataDoc();
+        doc.setSwiftCode(swiftCode);
+        doc.setCountryISO2(COUNTRY_ISO2);
+        swiftDirectory.put(doc);
+        when(mongoTemplate.remove(any(), eq(SwiftDataDoc.class))).thenReturn(DeleteResult.acknowledged(1));
 
         StandardizedSuccessResponse response = swiftDataService.deleteSwiftData(swiftCode);
 
-        verify(swiftDataRepository, times(1)).deleteById(swiftCode);
+        verify(swiftDataPersistenceMapper).createQueryForCode(swiftCode);
         assertTrue(response.getMessage().contains(swiftCode));
+        assertTrue(swiftDirectory.find(swiftCode).isEmpty(), "Directory should not hold deleted record");
+        verify(countrySnapshotCache).invalidate(COUNTRY_ISO2);
+        verify(jsonResponseCache).invalidateRecord(swiftCode, COUNTRY_ISO2);
     }
 
     /**
@@ -212,11 +365,106 @@ public class SwiftDataServiceTest {
     @Test
     public void testDeleteSwiftData_notFound_throwsException() {
         String swiftCode = "NON_EXISTENT";
-        when(swiftDataRepository.existsById(swiftCode)).thenReturn(false);
+        when(mongoTemplate.remove(any(), eq(SwiftDataDoc.class))).thenReturn(DeleteResult.acknowledged(0));
 
         Exception ex = assertThrows(SwiftDataNotFoundException.class, () ->
                 swiftDataService.deleteSwiftData(swiftCode)
         );
         assertTrue(ex.getMessage().contains(swiftCode));
     }
+
+    /**
+     * Test addSwiftDataBulk with valid, invalid, repeated and already stored records.
+     * Expects outcome of every record in request order and only valid new record inserted.
+     */
+    @Test
+    public void testAddSwiftDataBulk_mixedRecords_returnsOutcomePerRecord() {
+        SwiftDataDoc doc = new SwiftDataDoc();
+        doc.setSwiftCode(validRequest.getSwiftCode());
+        SwiftDataDoc storedDoc = new SwiftDataDoc();
+        storedDoc.setSwiftCode(invalidRequestDuplicate.getSwiftCode());
+        when(swiftDataPersistenceMapper.createQueryForStoredCodes(anyCollection())).thenReturn(new Query());
+        when(mongoTemplate.find(any(Query.class), eq(SwiftDataDoc.class))).thenReturn(List.of(storedDoc));
+        when(swiftDataMapper.swiftRequestToDoc(validRequest)).thenReturn(doc);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(SwiftDataDoc.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        BulkWriteResponse response = swiftDataService.addSwiftDataBulk(
+                List.of(validRequest, invalidRequestWrongXXX, validRequest, invalidRequestDuplicate));
+
+        assertEquals(List.of(BulkItemStatus.ADDED, BulkItemStatus.INVALID,
+                        BulkItemStatus.DUPLICATE_IN_REQUEST, BulkItemStatus.ALREADY_EXISTS),
+                response.getResults().stream().map(result -> result.getStatus()).toList());
+        assertEquals(1, response.getSucceededCount());
+        assertEquals(3, response.getFailedCount());
+        verify(bulkOperations).insert(List.of(doc));
+        assertTrue(swiftDirectory.find(validRequest.getSwiftCode()).isPresent(), "Directory should hold added record");
+    }
+
+    /**
+     * Test deleteSwiftDataBulk with stored, missing and repeated codes.
+     * Expects outcome of every code in request order and only stored code removed.
+     */
+    @Test
+    public void testDeleteSwiftDataBulk_mixedCodes_returnsOutcomePerCode() {
+        String swiftCode = "TESTCODE";
+        SwiftDataDoc doc = new SwiftDataDoc();
+        doc.setSwiftCode(swiftCode);
+        doc.setCountryISO2(COUNTRY_ISO2);
+        swiftDirectory.put(doc);
+        when(swiftDataPersistenceMapper.createQueryForStoredCodes(anyCollection())).thenReturn(new Query());
+        when(mongoTemplate.find(any(Query.class), eq(SwiftDataDoc.class))).thenReturn(List.of(doc));
+        when(swiftDataPersistenceMapper.createQueryForCodes(List.of(swiftCode))).thenReturn(new Query());
+        when(mongoTemplate.remove(any(Query.class), eq(SwiftDataDoc.class))).thenReturn(DeleteResult.acknowledged(1));
+
+        BulkWriteResponse response = swiftDataService.deleteSwiftDataBulk(List.of(swiftCode, "MISSING1", swiftCode));
+
+        assertEquals(List.of(BulkItemStatus.DELETED, BulkItemStatus.NOT_FOUND, BulkItemStatus.DUPLICATE_IN_REQUEST),
+                response.getResults().stream().map(result -> result.getStatus()).toList());
+        verify(mongoTemplate).remove(any(Query.class), eq(SwiftDataDoc.class));
+        assertTrue(swiftDirectory.find(swiftCode).isEmpty(), "Directory should not hold deleted record");
+        verify(jsonResponseCache).invalidateRecord(swiftCode, COUNTRY_ISO2);
+        verify(dataRevisionService).increment();
+    }
+
+    /**
+     * Test deleteSwiftDataBulk when fewer records are deleted than were found, e.g. one was deleted concurrently.
+     * Expects no record reported deleted, records gone from DB removed from directory, stored one kept.
+     */
+    @Test
+    public void testDeleteSwiftDataBulk_whenDeletedCountMismatches_reportsFailure() {
+        SwiftDataDoc deletedDoc = new SwiftDataDoc();
+        deletedDoc.setSwiftCode("TESTCODE1");
+        deletedDoc.setCountryISO2(COUNTRY_ISO2);
+        SwiftDataDoc storedDoc = new SwiftDataDoc();
+        storedDoc.setSwiftCode("TESTCODE2");
+        storedDoc.setCountryISO2(COUNTRY_ISO2);
+        swiftDirectory.put(deletedDoc);
+        swiftDirectory.put(storedDoc);
+        when(swiftDataPersistenceMapper.createQueryForStoredCodes(anyCollection())).thenReturn(new Query());
+        when(mongoTemplate.find(any(Query.class), eq(SwiftDataDoc.class)))
+                .thenReturn(List.of(deletedDoc, storedDoc), List.of(storedDoc));
+        when(swiftDataPersistenceMapper.createQueryForCodes(anyCollection())).thenReturn(new Query());
+        when(mongoTemplate.remove(any(Query.class), eq(SwiftDataDoc.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        BulkWriteResponse response = swiftDataService.deleteSwiftDataBulk(List.of("TESTCODE1", "TESTCODE2"));
+
+        assertEquals(List.of(BulkItemStatus.FAILED, BulkItemStatus.FAILED),
+                response.getResults().stream().map(result -> result.getStatus()).toList());
+        assertTrue(swiftDirectory.find("TESTCODE1").isEmpty(), "Directory should not hold record gone from DB");
+        assertTrue(swiftDirectory.find("TESTCODE2").isPresent(), "Directory should hold record still stored");
+        verify(jsonResponseCache, never()).invalidateRecord("TESTCODE2", COUNTRY_ISO2);
+        verify(dataRevisionService, never()).increment();
+    }
+
+    /**
+     * Directory materializes its own record instances, so records are matched by swift code.
+     */
+    private static SwiftDataDoc docWithCode(String swiftCode) {
+        return argThat(doc -> doc != null && swiftCode.equals(doc.getSwiftCode()));
+    }
+
+    private static List<SwiftDataDoc> docsWithCodes(String... swiftCodes) {
+        return argThat(docs -> docs != null && docs.stream().map(SwiftDataDoc::getSwiftCode).toList().equals(List.of(swiftCodes)));
+    }
 }